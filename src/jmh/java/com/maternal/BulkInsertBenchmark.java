@@ -0,0 +1,205 @@
+package com.maternal;
+
+import com.maternal.model.Baby;
+import com.maternal.model.GrowthRecord;
+import com.maternal.repository.BabyRepository;
+import com.maternal.repository.GrowthRecordRepository;
+import com.maternal.repository.UserRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for bulk growth-record creation, in rows per millisecond.
+ * "identity" replays what Hibernate issued under GenerationType.IDENTITY: one INSERT per row,
+ * each reading back its generated key. "pooled" replays the pooled-sequence pattern: one
+ * sequence call per 50 rows and one JDBC batch per 50 rows. "jpa" goes through the repository
+ * with the application's actual mapping and batch settings.
+ * The database is H2 behind its TCP server so every statement is a real loopback round trip;
+ * pass -Dbenchmark.datasource.url/username/password through -jvmArgsAppend to measure another one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(BulkInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    static final int ROWS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    private static final String INSERT_WITHOUT_ID = "INSERT INTO growth_records "
+            + "(record_date, weight, height, baby_id, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_WITH_ID = "INSERT INTO growth_records "
+            + "(id, record_date, weight, height, baby_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Param({"identity", "pooled", "jpa"})
+    public String mode;
+
+    private Server h2Server;
+    private ConfigurableApplicationContext context;
+    private DataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private GrowthRecordRepository growthRecordRepository;
+    private Baby baby;
+    private String nextValueSql;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url == null) {
+            h2Server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/mem:insert-benchmark";
+        }
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.username=benchmark",
+                "--spring.mail.password=benchmark",
+                "--logging.level.root=WARN",
+                "--logging.level.com.maternal=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        if (url.startsWith("jdbc:postgresql:")) {
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+            args.add("--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true");
+        }
+        if (System.getProperty("benchmark.datasource.username") != null) {
+            args.add("--spring.datasource.username=" + System.getProperty("benchmark.datasource.username"));
+            args.add("--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""));
+        }
+        context = SpringApplication.run(MaternalCareApplication.class, args.toArray(String[]::new));
+
+        dataSource = context.getBean(DataSource.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        growthRecordRepository = context.getBean(GrowthRecordRepository.class);
+        baby = context.getBean(BabyRepository.class).save(Baby.builder()
+                .name("Benchmark Baby")
+                .birthDate(LocalDate.now().minusMonths(6))
+                .gender("F")
+                .uniqueId(Baby.generateUniqueId())
+                .parent(context.getBean(UserRepository.class).findByEmail("user@maternal.com").orElseThrow())
+                .isActive(true)
+                .build());
+
+        try (Connection connection = dataSource.getConnection()) {
+            nextValueSql = connection.getMetaData().getDatabaseProductName().contains("PostgreSQL")
+                    ? "SELECT nextval('growth_records_seq')"
+                    : "SELECT NEXT VALUE FOR growth_records_seq";
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRecords() {
+        transactionTemplate.executeWithoutResult(status -> growthRecordRepository.deleteAllInBatch());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+        if (h2Server != null) {
+            h2Server.stop();
+        }
+    }
+
+    @Benchmark
+    public int insertGrowthRecords() throws Exception {
+        return switch (mode) {
+            case "identity" -> insertWithIdentity();
+            case "pooled" -> insertWithPooledSequence();
+            default -> insertWithRepository();
+        };
+    }
+
+    private int insertWithIdentity() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long lastId = 0;
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_WITHOUT_ID, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < ROWS; i++) {
+                    bind(insert, 1, i);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                        lastId = keys.getLong(1);
+                    }
+                }
+            }
+            connection.commit();
+            return (int) lastId;
+        }
+    }
+
+    private int insertWithPooledSequence() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long nextId = 0;
+            long blockEnd = 0;
+            try (PreparedStatement sequence = connection.prepareStatement(nextValueSql);
+                 PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+                for (int i = 0; i < ROWS; i++) {
+                    if (nextId == blockEnd) {
+                        try (ResultSet value = sequence.executeQuery()) {
+                            value.next();
+                            blockEnd = value.getLong(1) + 1;
+                            nextId = blockEnd - BATCH_SIZE;
+                        }
+                    }
+                    insert.setLong(1, nextId++);
+                    bind(insert, 2, i);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            return (int) nextId;
+        }
+    }
+
+    private int insertWithRepository() {
+        return transactionTemplate.execute(status -> {
+            List<GrowthRecord> records = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                records.add(GrowthRecord.builder()
+                        .recordDate(LocalDate.now())
+                        .weight(7.5 + i % 10 * 0.1)
+                        .height(65.0 + i % 10)
+                        .baby(baby)
+                        .build());
+            }
+            return growthRecordRepository.saveAll(records).size();
+        });
+    }
+
+    private void bind(PreparedStatement insert, int firstIndex, int row) throws Exception {
+        insert.setDate(firstIndex, Date.valueOf(LocalDate.now()));
+        insert.setDouble(firstIndex + 1, 7.5 + row % 10 * 0.1);
+        insert.setDouble(firstIndex + 2, 65.0 + row % 10);
+        insert.setLong(firstIndex + 3, baby.getId());
+        insert.setTimestamp(firstIndex + 4, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.maternal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread vs virtual-thread request handling under the same load:
+ * many concurrent clients calling an authenticated endpoint that reads from the database.
+ * Compare ops/ms and the p0.99 sample-time row between the two modes.
+ * Only platform mode runs by default; the virtual mode needs the java21 profile on a JDK 21+:
+ * mvn clean verify -Pbenchmark,java21 -Djmh.args="ThreadingModeBenchmark -p mode=platform,virtual"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ThreadingModeBenchmark {
+
+    @Param({"platform"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest meRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual-thread mode needs a Java 21+ runtime (build with -Pjava21)");
+        }
+
+        context = SpringApplication.run(MaternalCareApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:threading-benchmark",
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.username=benchmark",
+                "--spring.mail.password=benchmark",
+                "--security.rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.maternal=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"user@maternal.com\",\"password\":\"user123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(login.body()).path("data").path("token").asText();
+
+        meRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/me"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int authenticatedDatabaseRead() throws Exception {
+        HttpResponse<Void> response = httpClient.send(meRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,70 @@
+package com.maternal.security;
+
+import com.maternal.model.User;
+import com.maternal.repository.RevokedTokenRepository;
+import com.maternal.repository.UserRepository;
+import com.maternal.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full filter pass for an authenticated request: token verification, revocation check and principal resolution.
+ * selfContained=false measures the principal-cache path instead of claims-built principals.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean selfContained;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        User user = SecurityFixtures.user(42);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersionById(Mockito.anyLong())).thenReturn(Optional.of(0));
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        JwtUtil jwtUtil = SecurityFixtures.jwtUtil(10_000, selfContained);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(
+                userRepository, new UserPrincipalCache(10_000, 300, meterRegistry));
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(userRepository, 50_000, 30, meterRegistry);
+        TokenRevocationStore tokenRevocationStore = new TokenRevocationStore(
+                Mockito.mock(RevokedTokenRepository.class), Mockito.mock(PlatformTransactionManager.class),
+                100_000, 0.01, 60_000, meterRegistry);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersionRegistry, tokenRevocationStore);
+        authorization = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/babies/my-babies");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.maternal.security;
+
+import com.maternal.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation cost, with the verified-claims cache warm and with every lookup missing it
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+    private String[] distinctTokens;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = SecurityFixtures.jwtUtil(10_000, true);
+        uncachedJwtUtil = SecurityFixtures.jwtUtil(0, true);
+        user = SecurityFixtures.user(42);
+        token = cachedJwtUtil.generateToken(user);
+
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = uncachedJwtUtil.generateToken(SecurityFixtures.user(i + 1));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return cachedJwtUtil.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateTokenCached() {
+        return cachedJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenUncached(Cursor cursor) {
+        String next = distinctTokens[cursor.next++ & (DISTINCT_TOKENS - 1)];
+        return uncachedJwtUtil.validateToken(next);
+    }
+}
@@ -0,0 +1,40 @@
+package com.maternal.security;
+
+import com.maternal.model.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Objects shared by the security benchmarks, configured like application.properties
+ */
+final class SecurityFixtures {
+
+    static final String SECRET = "mySecretKeyForJWTTokenGeneration123456789";
+
+    private SecurityFixtures() {
+    }
+
+    static JwtUtil jwtUtil(long claimsCacheSize, boolean selfContained) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", claimsCacheSize);
+        ReflectionTestUtils.setField(jwtUtil, "selfContained", selfContained);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .fullName("Benchmark User " + id)
+                .email("user" + id + "@maternal.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3B9CtV5D5JeXW5xM6hV6R2W")
+                .phone("+1234567890")
+                .role(User.Role.USER)
+                .tokenVersion(0)
+                .isActive(true)
+                .emailVerified(true)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.maternal.cluster;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a scheduled method only on the nodes holding a lease for the job, instead of on every node.
+ * With one partition the job runs on a single elected node. With more, the partitions are shared
+ * out evenly between the live nodes and each run covers only the ones this node holds, which the
+ * method reads from {@link JobRun#current()} to select its share of the work.
+ * The partition count must be the same on every node; change it only with a full redeploy.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterJob {
+
+    /**
+     * Job name, unique across the application
+     */
+    String name();
+
+    /**
+     * Number of partitions the job's work is split into; at most this many nodes share it
+     */
+    int partitions() default 1;
+}
@@ -0,0 +1,39 @@
+package com.maternal.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs @ClusterJob methods only when this node holds at least one of the job's partitions
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobAspect {
+
+    private final JobCoordinator jobCoordinator;
+
+    @Around("@annotation(clusterJob)")
+    public Object runWithLease(ProceedingJoinPoint joinPoint, ClusterJob clusterJob) throws Throwable {
+        JobRun run = jobCoordinator.begin(clusterJob.name(), clusterJob.partitions());
+        if (run == null) {
+            log.debug("Skipping {}: other nodes hold all its partitions", clusterJob.name());
+            return null;
+        }
+        run.bind();
+        try {
+            return joinPoint.proceed();
+        } catch (LeaseLostException e) {
+            log.warn("Stopped {}: {}", clusterJob.name(), e.getMessage());
+            return null;
+        } finally {
+            run.unbind();
+            jobCoordinator.end(run);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.maternal.cluster;
+
+import com.maternal.model.ClusterNode;
+import com.maternal.model.JobLease;
+import com.maternal.repository.ClusterNodeRepository;
+import com.maternal.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out the partitions of every {@link ClusterJob} between the running nodes, through lease
+ * rows in the job_leases table.
+ * Every cluster.lease.renew-interval-ms the node heartbeats its cluster_nodes row, renews the
+ * leases it holds, gives up partitions beyond its fair share (partitions / live nodes, rounded up)
+ * and takes free ones up to it, so the work spreads out as nodes join and moves over within
+ * cluster.lease.ttl-ms of a node dying. A run also takes any partition nobody holds, so none is
+ * skipped. Each acquisition bumps the partition's fencing token; {@link JobRun#fence()} checks it
+ * in the transaction doing the work, so a node that stalled past its lease cannot commit work the
+ * new holder is also doing. Lease times come from each node's clock, which should agree across
+ * nodes to well within the TTL.
+ */
+@Component
+@Slf4j
+public class JobCoordinator {
+
+    private static final Duration NODE_RETENTION = Duration.ofDays(1);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final ClusterNodeRepository clusterNodeRepository;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final Duration ttl;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Counter lostCounter;
+
+    public JobCoordinator(
+            JobLeaseRepository jobLeaseRepository,
+            ClusterNodeRepository clusterNodeRepository,
+            ApplicationContext applicationContext,
+            PlatformTransactionManager transactionManager,
+            @Value("${cluster.node-id:}") String nodeId,
+            @Value("${cluster.lease.ttl-ms:30000}") long ttlMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.clusterNodeRepository = clusterNodeRepository;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? generateNodeId() : nodeId;
+        this.ttl = Duration.ofMillis(ttlMs);
+
+        this.lostCounter = Counter.builder("cluster.jobs.leases.lost")
+                .description("Job partitions this node found taken over before it renewed them")
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Register every @ClusterJob method and take this node's share of their partitions
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> type = applicationContext.getType(beanName, false);
+            if (type == null) {
+                continue;
+            }
+            MethodIntrospector.selectMethods(ClassUtils.getUserClass(type),
+                            (MethodIntrospector.MetadataLookup<ClusterJob>) method ->
+                                    AnnotatedElementUtils.findMergedAnnotation(method, ClusterJob.class))
+                    .values()
+                    .forEach(clusterJob -> register(clusterJob.name(), clusterJob.partitions()));
+        }
+        log.info("Node {} coordinating {} scheduled jobs", nodeId, jobs.size());
+        maintain();
+    }
+
+    /**
+     * Heartbeat, renew held leases and rebalance every job's partitions
+     */
+    @Scheduled(fixedDelayString = "${cluster.lease.renew-interval-ms:10000}", initialDelayString = "${cluster.lease.renew-interval-ms:10000}")
+    public void maintain() {
+        try {
+            List<String> liveNodes = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (clusterNodeRepository.heartbeat(nodeId, now) == 0) {
+                    clusterNodeRepository.save(new ClusterNode(nodeId, startedAt, now));
+                }
+                clusterNodeRepository.deleteStale(now.minus(NODE_RETENTION));
+                return clusterNodeRepository.findLiveNodeIds(now.minus(ttl));
+            });
+            for (Job job : jobs.values()) {
+                try {
+                    synchronized (job) {
+                        rebalance(job, liveNodes);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Lease maintenance for {} failed: {}", job.name, e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Job lease maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Start a run of a job: renew the partitions this node holds and take any nobody holds
+     *
+     * @return the run, or null if another node holds every partition
+     */
+    JobRun begin(String jobName, int partitionCount) {
+        Job job = register(jobName, partitionCount);
+        synchronized (job) {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                renewHeld(job, now.plus(ttl));
+                acquireFree(job, now, Integer.MAX_VALUE, 0);
+            });
+            if (job.held.isEmpty()) {
+                return null;
+            }
+            job.running++;
+            return new JobRun(jobName, partitionCount, Collections.unmodifiableSortedMap(new TreeMap<>(job.held)), this);
+        }
+    }
+
+    void end(JobRun run) {
+        Job job = jobs.get(run.jobName());
+        synchronized (job) {
+            job.running--;
+        }
+    }
+
+    void fence(JobRun run) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("JobRun.fence() must be called in the read-write transaction doing the work");
+        }
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(ttl);
+        run.tokens().forEach((partition, token) -> {
+            if (jobLeaseRepository.renew(run.jobName(), partition, token, nodeId, leaseUntil) == 0) {
+                lostCounter.increment();
+                throw new LeaseLostException("Node " + nodeId + " no longer holds " + run.jobName()
+                        + " partition " + partition);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jobLeaseRepository.releaseAll(nodeId, LocalDateTime.now());
+                clusterNodeRepository.deleteById(nodeId);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not release job leases on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private Job register(String jobName, int partitionCount) {
+        Job job = jobs.get(jobName);
+        if (job == null) {
+            synchronized (jobs) {
+                job = jobs.get(jobName);
+                if (job == null) {
+                    if (partitionCount < 1) {
+                        throw new IllegalStateException("Job " + jobName + " needs at least one partition");
+                    }
+                    job = new Job(jobName, partitionCount);
+                    createPartitions(job);
+                    Gauge.builder("cluster.jobs.partitions", job, held -> held.held.size())
+                            .description("Partitions of the job this node holds")
+                            .tag("job", jobName)
+                            .register(meterRegistry);
+                    jobs.put(jobName, job);
+                }
+            }
+        }
+        if (job.partitionCount != partitionCount) {
+            throw new IllegalStateException("Job " + jobName + " is declared with both " + job.partitionCount
+                    + " and " + partitionCount + " partitions");
+        }
+        return job;
+    }
+
+    private void createPartitions(Job job) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Integer> existing = jobLeaseRepository.findByJobNameOrderByPartitionAsc(job.name).stream()
+                        .map(JobLease::getPartition)
+                        .collect(Collectors.toSet());
+                LocalDateTime now = LocalDateTime.now();
+                for (int partition = 0; partition < job.partitionCount; partition++) {
+                    if (!existing.contains(partition)) {
+                        jobLeaseRepository.save(JobLease.builder()
+                                .jobName(job.name)
+                                .partition(partition)
+                                .fencingToken(0L)
+                                .leaseUntil(now)
+                                .build());
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created them at the same moment
+            log.debug("Lease rows for {} already created", job.name);
+        }
+    }
+
+    private void rebalance(Job job, List<String> liveNodes) {
+        int share = (job.partitionCount + Math.max(liveNodes.size(), 1) - 1) / Math.max(liveNodes.size(), 1);
+        // Nodes start looking for free partitions at different points, so they rarely race for the same one
+        int offset = Math.max(liveNodes.indexOf(nodeId), 0) * share;
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            renewHeld(job, now.plus(ttl));
+            if (job.running == 0) {
+                List<Integer> surplus = job.held.keySet().stream()
+                        .sorted(Comparator.reverseOrder())
+                        .limit(Math.max(job.held.size() - share, 0))
+                        .toList();
+                for (Integer partition : surplus) {
+                    jobLeaseRepository.release(job.name, partition, job.held.remove(partition), nodeId, now);
+                    log.info("Released {} partition {} to rebalance", job.name, partition);
+                }
+            }
+            acquireFree(job, now, share - job.held.size(), offset);
+        });
+    }
+
+    private void renewHeld(Job job, LocalDateTime leaseUntil) {
+        job.held.entrySet().removeIf(held -> {
+            if (jobLeaseRepository.renew(job.name, held.getKey(), held.getValue(), nodeId, leaseUntil) == 1) {
+                return false;
+            }
+            lostCounter.increment();
+            log.warn("Lost lease on {} partition {}", job.name, held.getKey());
+            return true;
+        });
+    }
+
+    private void acquireFree(Job job, LocalDateTime now, int wanted, int offset) {
+        if (wanted <= 0) {
+            return;
+        }
+        List<JobLease> free = jobLeaseRepository.findByJobNameOrderByPartitionAsc(job.name).stream()
+                .filter(lease -> lease.getPartition() < job.partitionCount)
+                .filter(lease -> !lease.getLeaseUntil().isAfter(now))
+                .sorted(Comparator.comparingInt(lease -> Math.floorMod(lease.getPartition() - offset, job.partitionCount)))
+                .toList();
+        LocalDateTime leaseUntil = now.plus(ttl);
+        for (JobLease lease : free) {
+            if (wanted == 0) {
+                break;
+            }
+            long token = lease.getFencingToken();
+            if (jobLeaseRepository.acquire(job.name, lease.getPartition(), token, nodeId, now, leaseUntil) == 1) {
+                job.held.put(lease.getPartition(), token + 1);
+                wanted--;
+                log.info("Acquired {} partition {} (fencing token {})", job.name, lease.getPartition(), token + 1);
+            }
+        }
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String id = host + "-" + ProcessHandle.current().pid() + "-"
+                + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000));
+        return id.length() <= 200 ? id : id.substring(id.length() - 200);
+    }
+
+    /**
+     * A registered job and the partitions this node holds, guarded by the instance's monitor
+     */
+    private static final class Job {
+        final String name;
+        final int partitionCount;
+        /**
+         * Partition to fencing token, in partition order so leases are always locked in the same order
+         */
+        final SortedMap<Integer, Long> held = new ConcurrentSkipListMap<>();
+        int running;
+
+        Job(String name, int partitionCount) {
+            this.name = name;
+            this.partitionCount = partitionCount;
+        }
+    }
+}
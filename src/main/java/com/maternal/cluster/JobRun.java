@@ -0,0 +1,80 @@
+package com.maternal.cluster;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * One run of a {@link ClusterJob} on this node: the partitions it holds and their fencing tokens.
+ */
+public final class JobRun {
+
+    private static final ThreadLocal<JobRun> CURRENT = new ThreadLocal<>();
+
+    private final String jobName;
+    private final int partitionCount;
+    /**
+     * Partition to the fencing token it was acquired with, in partition order
+     */
+    private final SortedMap<Integer, Long> tokens;
+    private final JobCoordinator coordinator;
+
+    JobRun(String jobName, int partitionCount, SortedMap<Integer, Long> tokens, JobCoordinator coordinator) {
+        this.jobName = jobName;
+        this.partitionCount = partitionCount;
+        this.tokens = tokens;
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * The run of the @ClusterJob method executing on this thread
+     *
+     * @throws IllegalStateException outside a @ClusterJob method
+     */
+    public static JobRun current() {
+        JobRun run = CURRENT.get();
+        if (run == null) {
+            throw new IllegalStateException("Not inside a @ClusterJob method");
+        }
+        return run;
+    }
+
+    public String jobName() {
+        return jobName;
+    }
+
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Partitions this run covers. Work belongs to partition MOD(key, partitionCount()).
+     */
+    public List<Integer> partitions() {
+        return List.copyOf(tokens.keySet());
+    }
+
+    /**
+     * Check, inside the transaction about to commit a unit of the job's work, that this node still
+     * holds every partition of the run, and extend the leases. The lease rows stay locked until that
+     * transaction ends, so no other node can take a partition over before the work commits; and if
+     * one already has, the work is rolled back instead of being done twice.
+     *
+     * @throws LeaseLostException if a partition has been taken over
+     * @throws IllegalStateException outside a transaction
+     */
+    public void fence() {
+        coordinator.fence(this);
+    }
+
+    SortedMap<Integer, Long> tokens() {
+        return tokens;
+    }
+
+    void bind() {
+        CURRENT.set(this);
+    }
+
+    void unbind() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,11 @@
+package com.maternal.cluster;
+
+/**
+ * Thrown when a node finds it no longer holds a partition it is working on
+ */
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
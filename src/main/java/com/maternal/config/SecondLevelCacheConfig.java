@@ -0,0 +1,73 @@
+package com.maternal.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache regions, held in Caffeine through JCache.
+ * Entity and query regions are size-bounded and expire after a TTL, which also bounds how long
+ * a write made by another instance can go unseen here. The update-timestamps region is never
+ * evicted, because the query cache relies on it to detect stale results.
+ * Region names match the @Cache annotations on the entities.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String BABIES_REGION = "babies";
+    public static final String VACCINATIONS_REGION = "vaccinations";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${cache.l2.users.max-entries:10000}") long maxUsers,
+            @Value("${cache.l2.babies.max-entries:20000}") long maxBabies,
+            @Value("${cache.l2.vaccinations.max-entries:100000}") long maxVaccinations,
+            @Value("${cache.l2.queries.max-entries:10000}") long maxQueries,
+            @Value("${cache.l2.ttl-minutes:5}") long ttlMinutes
+    ) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        long ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        cacheManager.createCache(USERS_REGION, boundedRegion(maxUsers, ttlNanos));
+        cacheManager.createCache(BABIES_REGION, boundedRegion(maxBabies, ttlNanos));
+        cacheManager.createCache(VACCINATIONS_REGION, boundedRegion(maxVaccinations, ttlNanos));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                boundedRegion(maxQueries, ttlNanos));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(long maxEntries, long ttlNanos) {
+        CaffeineConfiguration<Object, Object> configuration = region();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttlNanos));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable disassembled state, so copying entries on every access is wasted work
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -3,6 +3,7 @@ package com.maternal.controller;
 import com.maternal.dto.ApiResponse;
 import com.maternal.dto.AppointmentDTO;
 import com.maternal.dto.AppointmentRequest;
+import com.maternal.dto.Cursor;
 import com.maternal.service.AppointmentService;
 import com.maternal.service.AuthService;
 import jakarta.validation.Valid;
@@ -55,10 +56,18 @@ public class AppointmentController {
 
     @GetMapping("/my-appointments")
     @PreAuthorize("hasAnyRole('USER', 'DOCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getMyAppointments() {
-        var currentUser = authService.getCurrentUser();
-        List<AppointmentDTO> appointments = appointmentService.getAppointmentsByUserId(currentUser.getId());
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getMyAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            var currentUser = authService.getCurrentUser();
+            return ResponseEntity.ok(ApiResponse.success(
+                    appointmentService.getAppointmentsByUserId(currentUser.getId(), cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/upcoming")
@@ -71,9 +80,18 @@ public class AppointmentController {
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('DOCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByUserId(@PathVariable Long userId) {
-        List<AppointmentDTO> appointments = appointmentService.getAppointmentsByUserId(userId);
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    appointmentService.getAppointmentsByUserId(userId, cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
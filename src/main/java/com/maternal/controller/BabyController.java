@@ -3,6 +3,7 @@ package com.maternal.controller;
 import com.maternal.dto.ApiResponse;
 import com.maternal.dto.BabyDTO;
 import com.maternal.dto.BabyRequest;
+import com.maternal.dto.Cursor;
 import com.maternal.service.AuthService;
 import com.maternal.service.BabyService;
 import jakarta.validation.Valid;
@@ -63,19 +64,51 @@ public class BabyController {
         }
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('DOCTOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<BabyDTO>>> searchBabies(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(babyService.searchBabies(q, cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/parent/{parentId}")
     @PreAuthorize("hasAnyRole('USER', 'DOCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<BabyDTO>>> getBabiesByParentId(@PathVariable Long parentId) {
-        List<BabyDTO> babies = babyService.getBabiesByParentId(parentId);
-        return ResponseEntity.ok(ApiResponse.success(babies));
+    public ResponseEntity<ApiResponse<List<BabyDTO>>> getBabiesByParentId(
+            @PathVariable Long parentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    babyService.getBabiesByParentId(parentId, cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/my-babies")
     @PreAuthorize("hasAnyRole('USER', 'DOCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<BabyDTO>>> getMyBabies() {
-        var currentUser = authService.getCurrentUser();
-        List<BabyDTO> babies = babyService.getBabiesByParentId(currentUser.getId());
-        return ResponseEntity.ok(ApiResponse.success(babies));
+    public ResponseEntity<ApiResponse<List<BabyDTO>>> getMyBabies(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            var currentUser = authService.getCurrentUser();
+            return ResponseEntity.ok(ApiResponse.success(
+                    babyService.getBabiesByParentId(currentUser.getId(), cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
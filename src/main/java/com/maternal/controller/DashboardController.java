@@ -0,0 +1,34 @@
+package com.maternal.controller;
+
+import com.maternal.dto.ApiResponse;
+import com.maternal.dto.DashboardDTO;
+import com.maternal.service.AuthService;
+import com.maternal.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the parent home screen
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final AuthService authService;
+
+    /**
+     * Babies with ages and vaccinations due, plus the next appointments, in one call
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('USER', 'DOCTOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<DashboardDTO>> getDashboard() {
+        var currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(dashboardService.getDashboard(currentUser.getId())));
+    }
+}
@@ -0,0 +1,46 @@
+package com.maternal.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maternal.dto.ApiResponse;
+import com.maternal.service.AuthService;
+import com.maternal.service.DeviceSyncService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for mobile device sync endpoints
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final DeviceSyncService deviceSyncService;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Upload a JSON array of growth, nutrition and weight readings.
+     * The body is read and the per-record results written as a stream, so this bypasses
+     * the usual request/response body conversion.
+     */
+    @PostMapping(value = "/records", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'DOCTOR', 'ADMIN')")
+    public void uploadRecords(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var currentUser = authService.getCurrentUser();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            deviceSyncService.ingest(currentUser.getId(), request.getInputStream(), response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(e.getMessage()));
+        }
+    }
+}
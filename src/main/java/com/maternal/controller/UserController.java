@@ -1,9 +1,13 @@
 package com.maternal.controller;
 
 import com.maternal.dto.ApiResponse;
+import com.maternal.dto.Cursor;
+import com.maternal.dto.PageResponse;
 import com.maternal.dto.UserDTO;
 import com.maternal.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -34,16 +38,33 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public ResponseEntity<ApiResponse<PageResponse<UserDTO>>> getUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable
+    ) {
+        try {
+            PageResponse<UserDTO> users = userService.getUsers(role, active, pageable);
+            return ResponseEntity.ok(ApiResponse.success(users));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('DOCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> searchUsers(@RequestParam String q) {
-        List<UserDTO> users = userService.searchUsers(q);
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public ResponseEntity<ApiResponse<List<UserDTO>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userService.searchUsers(q, cursor, Cursor.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
@@ -1,10 +1,13 @@
 package com.maternal.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Generic API response wrapper
  */
@@ -19,6 +22,9 @@ public class ApiResponse<T> {
     private T data;
     private Object errors;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor; // set on keyset-paginated listings while more pages exist
+
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
@@ -34,6 +40,14 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    public static <T> ApiResponse<List<T>> success(CursorPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .data(page.getItems())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
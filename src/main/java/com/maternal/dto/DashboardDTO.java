@@ -0,0 +1,64 @@
+package com.maternal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a parent's home screen: babies with their vaccinations due, and the next appointments
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDTO {
+
+    private List<BabySummary> babies;
+    private List<AppointmentSummary> nextAppointments;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BabySummary {
+        private Long id;
+        private String name;
+        private String uniqueId;
+        private String gender;
+        private LocalDate birthDate;
+        private String photoUrl;
+        private Long ageInDays;
+        private Long ageInMonths;
+        private List<VaccinationSummary> overdueVaccinations;
+        private List<VaccinationSummary> upcomingVaccinations;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class VaccinationSummary {
+        private Long id;
+        private String vaccineName;
+        private LocalDate scheduledDate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AppointmentSummary {
+        private Long id;
+        private Long babyId;
+        private String appointmentType;
+        private LocalDateTime appointmentDate;
+        private String doctorName;
+        private String clinicName;
+    }
+}
@@ -0,0 +1,101 @@
+package com.maternal.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One reading uploaded by the mobile app during a device sync.
+ * Which fields are required depends on the record type; each type is a validation group.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncRecord {
+
+    public interface Growth {
+    }
+
+    public interface Nutrition {
+    }
+
+    public interface Weight {
+    }
+
+    public enum RecordType {
+        GROWTH(Growth.class),
+        NUTRITION(Nutrition.class),
+        WEIGHT(Weight.class);
+
+        private final Class<?> validationGroup;
+
+        RecordType(Class<?> validationGroup) {
+            this.validationGroup = validationGroup;
+        }
+
+        public Class<?> getValidationGroup() {
+            return validationGroup;
+        }
+    }
+
+    private RecordType type;
+
+    // Echoed back in the result so the app can match results to its queue
+    @Size(max = 100, groups = {Growth.class, Nutrition.class, Weight.class})
+    private String clientId;
+
+    @NotNull(message = "Baby is required", groups = {Growth.class, Nutrition.class})
+    private Long babyId;
+
+    @NotNull(message = "Record date is required", groups = {Growth.class, Nutrition.class, Weight.class})
+    @PastOrPresent(message = "Record date cannot be in the future", groups = {Growth.class, Nutrition.class, Weight.class})
+    private LocalDate recordDate;
+
+    @NotNull(message = "Weight is required", groups = {Growth.class, Weight.class})
+    @Positive(message = "Weight must be positive", groups = {Growth.class, Weight.class})
+    private Double weight;
+
+    @NotNull(message = "Height is required", groups = Growth.class)
+    @Positive(message = "Height must be positive", groups = {Growth.class, Weight.class})
+    private Double height;
+
+    @Positive(message = "Head circumference must be positive", groups = Growth.class)
+    private Double headCircumference;
+
+    @PositiveOrZero(message = "Age in months cannot be negative", groups = Growth.class)
+    private Integer ageInMonths;
+
+    @NotBlank(message = "Feeding type is required", groups = Nutrition.class)
+    @Size(max = 50, groups = Nutrition.class)
+    private String feedingType;
+
+    @Size(max = 50, groups = Nutrition.class)
+    private String mealType;
+
+    private String foodItems;
+
+    @PositiveOrZero(message = "Quantity cannot be negative", groups = Nutrition.class)
+    private Integer quantity;
+
+    @NotNull(message = "Pregnancy week is required", groups = Weight.class)
+    @Min(value = 1, message = "Pregnancy week must be between 1 and 42", groups = Weight.class)
+    @Max(value = 42, message = "Pregnancy week must be between 1 and 42", groups = Weight.class)
+    private Integer pregnancyWeek;
+
+    @Positive(message = "Pre-pregnancy weight must be positive", groups = Weight.class)
+    private Double prePregnancyWeight;
+
+    private String notes;
+}
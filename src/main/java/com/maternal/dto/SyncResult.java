@@ -0,0 +1,40 @@
+package com.maternal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of one uploaded record, identified by its position in the upload
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncResult {
+
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+
+    private int index;
+    private String clientId;
+    private Status status;
+    private Long id;
+    private Map<String, String> errors;
+
+    public static SyncResult created(int index, String clientId, Long id) {
+        return new SyncResult(index, clientId, Status.CREATED, id, null);
+    }
+
+    public static SyncResult rejected(int index, String clientId, Map<String, String> errors) {
+        return new SyncResult(index, clientId, Status.REJECTED, null, errors);
+    }
+
+    public static SyncResult failed(int index, String clientId, String error) {
+        return new SyncResult(index, clientId, Status.FAILED, null, Map.of("record", error));
+    }
+}
@@ -1,5 +1,6 @@
 package com.maternal.dto;
 
+import com.maternal.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +34,15 @@ public class UserDTO {
     private LocalDateTime updatedAt;
     private LocalDateTime lastLogin;
     private Integer babiesCount;
+
+    /**
+     * Constructor for JPQL projections; babiesCount is filled in by a separate grouped query
+     */
+    public UserDTO(Long id, String fullName, String email, User.Role role, String phone, LocalDate dateOfBirth,
+                   String address, String emergencyContact, String emergencyPhone, Boolean isActive,
+                   Boolean emailVerified, String profilePicture, LocalDateTime createdAt,
+                   LocalDateTime updatedAt, LocalDateTime lastLogin) {
+        this(id, fullName, email, role.name(), phone, dateOfBirth, address, emergencyContact, emergencyPhone,
+                isActive, emailVerified, profilePicture, createdAt, updatedAt, lastLogin, 0);
+    }
 }
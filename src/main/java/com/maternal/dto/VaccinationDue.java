@@ -0,0 +1,23 @@
+package com.maternal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A scheduled vaccination with the baby and parent details needed to remind the parent,
+ * read by the nightly sweep as a projection instead of loading the entities
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccinationDue {
+
+    private Long vaccinationId;
+    private String vaccineName;
+    private LocalDate scheduledDate;
+    private String babyName;
+    private String parentEmail;
+}
@@ -0,0 +1,39 @@
+package com.maternal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Vaccination counts for one baby, built by a grouped query instead of loading the vaccinations
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccinationProgress {
+
+    private Long babyId;
+    private Long total;
+    private Long completed;
+
+    public static VaccinationProgress empty(Long babyId) {
+        return new VaccinationProgress(babyId, 0L, 0L);
+    }
+
+    /**
+     * Same shape as Baby.getVaccinationProgress
+     */
+    public Map<String, Object> toMap() {
+        int totalCount = total != null ? total.intValue() : 0;
+        long completedCount = completed != null ? completed : 0;
+
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("total", totalCount);
+        progress.put("completed", completedCount);
+        progress.put("percentage", totalCount > 0 ? (completedCount * 100.0 / totalCount) : 0);
+        return progress;
+    }
+}
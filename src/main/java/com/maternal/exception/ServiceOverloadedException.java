@@ -0,0 +1,18 @@
+package com.maternal.exception;
+
+/**
+ * Thrown when a bounded resource cannot accept more work; mapped to 503 Service Unavailable
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
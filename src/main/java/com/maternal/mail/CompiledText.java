@@ -0,0 +1,99 @@
+package com.maternal.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One template text parsed into alternating literal segments and parameter slots.
+ * literals[i] is written, then the value of parameter params[i], for every slot, then the last literal.
+ */
+final class CompiledText {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final int[] params;
+    private final int literalLength;
+
+    private CompiledText(String[] literals, int[] params) {
+        this.literals = literals;
+        this.params = params;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse {{name}} placeholders, resolving each to its position in the parameter list
+     *
+     * @throws IllegalStateException for an unclosed or unknown placeholder
+     */
+    static CompiledText compile(String source, List<String> parameters, String location) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> params = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in " + location + " at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int index = parameters.indexOf(name);
+            if (index < 0) {
+                throw new IllegalStateException("Unknown placeholder {{" + name + "}} in " + location
+                        + "; expected one of " + parameters);
+            }
+            literals.add(source.substring(position, open));
+            params.add(index);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledText(literals.toArray(String[]::new), params.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Length of the output before any values are added, a lower bound for sizing buffers
+     */
+    int literalLength() {
+        return literalLength;
+    }
+
+    void appendTo(StringBuilder out, String[] values, boolean escapeHtml) {
+        for (int i = 0; i < params.length; i++) {
+            out.append(literals[i]);
+            String value = values[params[i]];
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[params.length]);
+    }
+
+    /**
+     * Escape a value for HTML text, keeping its line breaks
+     */
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                case '\n' -> out.append("<br>\n");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.maternal.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precompiled email template with its locale variants.
+ * Rendering writes the segments into a buffer reused per thread and copies the result out once,
+ * so no format string is parsed and no intermediate strings are built per message.
+ */
+public final class EmailTemplate {
+
+    private static final ResourceBundle.Control CANDIDATES = ResourceBundle.Control.getNoFallbackControl(
+            ResourceBundle.Control.FORMAT_DEFAULT);
+
+    /**
+     * Buffers grown past this are not kept, so one huge message does not pin memory for good
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String name;
+    private final List<String> parameters;
+    private final Map<Locale, Variant> variants;
+    private final Locale defaultLocale;
+    private final Map<Locale, Variant> resolved = new ConcurrentHashMap<>();
+
+    EmailTemplate(String name, List<String> parameters, Map<Locale, Variant> variants, Locale defaultLocale) {
+        this.name = name;
+        this.parameters = parameters;
+        this.variants = variants;
+        this.defaultLocale = defaultLocale;
+    }
+
+    /**
+     * Render the default locale's variant
+     *
+     * @param values one per parameter, in the order the parameters were declared
+     */
+    public RenderedEmail render(String... values) {
+        return render(defaultLocale, values);
+    }
+
+    /**
+     * Render the closest variant to the locale: the locale itself, its language, then the
+     * default locale and the template without a locale suffix
+     *
+     * @param values one per parameter, in the order the parameters were declared
+     */
+    public RenderedEmail render(Locale locale, String... values) {
+        if (values.length != parameters.size()) {
+            throw new IllegalArgumentException("Template " + name + " takes " + parameters + ", got "
+                    + values.length + " values");
+        }
+        Variant variant = resolved.computeIfAbsent(locale, this::resolve);
+        return new RenderedEmail(
+                render(variant.subject(), values, false),
+                render(variant.text(), values, false),
+                variant.html() != null ? render(variant.html(), values, true) : null);
+    }
+
+    private static String render(CompiledText text, String[] values, boolean escapeHtml) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(text.literalLength() + 256);
+        text.appendTo(buffer, values, escapeHtml);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private Variant resolve(Locale locale) {
+        // Candidates end with Locale.ROOT, the unsuffixed template, which is only the last resort
+        List<Locale> candidates = new ArrayList<>(CANDIDATES.getCandidateLocales("", locale));
+        candidates.remove(Locale.ROOT);
+        candidates.addAll(CANDIDATES.getCandidateLocales("", defaultLocale));
+        for (Locale candidate : candidates) {
+            Variant variant = variants.get(candidate);
+            if (variant != null) {
+                return variant;
+            }
+        }
+        throw new IllegalStateException("Template " + name + " has no variant for " + locale);
+    }
+
+    record Variant(CompiledText subject, CompiledText text, CompiledText html) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.maternal.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads the email templates under classpath:templates/email once, at startup.
+ * Each template is name.txt, whose first line is "Subject: ..." followed by a blank line and the
+ * plain-text body, plus an optional name.html body. Per-locale variants add the locale to the
+ * name, as in name_fr.txt or name_pt_BR.html. Placeholders are written {{parameter}}; values
+ * are escaped in HTML bodies.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath*:templates/email/*.*";
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final Locale defaultLocale;
+    /**
+     * Template name to locale to raw text and HTML
+     */
+    private final Map<String, Map<Locale, String[]>> sources = new HashMap<>();
+
+    public EmailTemplateEngine(@Value("${mail.templates.default-locale:en}") Locale defaultLocale) throws IOException {
+        this.defaultLocale = defaultLocale;
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        for (Resource resource : resources) {
+            load(resource);
+        }
+        log.info("Loaded {} email templates", sources.size());
+    }
+
+    /**
+     * Compile every locale variant of a template against its parameter list
+     *
+     * @param parameters placeholder names, in the order render() takes their values
+     * @throws IllegalStateException if the template is missing or malformed, or uses an undeclared placeholder
+     */
+    public EmailTemplate template(String name, String... parameters) {
+        Map<Locale, String[]> localized = sources.get(name);
+        if (localized == null) {
+            throw new IllegalStateException("No email template named " + name);
+        }
+        List<String> parameterList = List.of(parameters);
+        Map<Locale, EmailTemplate.Variant> variants = new HashMap<>();
+        localized.forEach((locale, source) -> {
+            String location = name + (locale.equals(Locale.ROOT) ? "" : "_" + locale);
+            if (source[0] == null) {
+                throw new IllegalStateException("Email template " + location + " has an HTML body but no .txt");
+            }
+            String text = source[0];
+            if (!text.startsWith(SUBJECT_PREFIX)) {
+                throw new IllegalStateException("Email template " + location + ".txt must start with a Subject: line");
+            }
+            int subjectEnd = text.indexOf('\n');
+            if (subjectEnd < 0) {
+                throw new IllegalStateException("Email template " + location + ".txt has no body");
+            }
+            String subject = text.substring(SUBJECT_PREFIX.length(), subjectEnd).trim();
+            String body = text.substring(subjectEnd + 1);
+            if (body.startsWith("\n")) {
+                body = body.substring(1);
+            }
+            variants.put(locale, new EmailTemplate.Variant(
+                    CompiledText.compile(subject, parameterList, location + ".txt"),
+                    CompiledText.compile(body, parameterList, location + ".txt"),
+                    source[1] != null ? CompiledText.compile(source[1], parameterList, location + ".html") : null));
+        });
+        return new EmailTemplate(name, parameterList, Map.copyOf(variants), defaultLocale);
+    }
+
+    private void load(Resource resource) throws IOException {
+        String filename = resource.getFilename();
+        if (filename == null) {
+            return;
+        }
+        int dot = filename.lastIndexOf('.');
+        String extension = filename.substring(dot + 1);
+        int slot = switch (extension) {
+            case "txt" -> 0;
+            case "html" -> 1;
+            default -> -1;
+        };
+        if (slot < 0) {
+            return;
+        }
+        String base = filename.substring(0, dot);
+        int underscore = base.indexOf('_');
+        String name = underscore < 0 ? base : base.substring(0, underscore);
+        Locale locale = underscore < 0 ? Locale.ROOT
+                : Locale.forLanguageTag(base.substring(underscore + 1).replace('_', '-'));
+
+        String content = resource.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+        // A file's final newline is not part of the message
+        if (content.endsWith("\n")) {
+            content = content.substring(0, content.length() - 1);
+        }
+        sources.computeIfAbsent(name, key -> new HashMap<>())
+                .computeIfAbsent(locale, key -> new String[2])[slot] = content;
+    }
+}
@@ -0,0 +1,7 @@
+package com.maternal.mail;
+
+/**
+ * Subject and bodies rendered from an email template; html is null when the template has no HTML variant
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
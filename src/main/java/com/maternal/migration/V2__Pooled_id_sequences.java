@@ -0,0 +1,41 @@
+package com.maternal.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Create the id sequences used by the entities' pooled generators, starting past the highest
+ * existing id of each table so rows created under IDENTITY keep their ids.
+ * Hibernate's pooled optimizer treats each sequence value as the top of a block of
+ * ALLOCATION_SIZE ids, so the first value is MAX(id) + ALLOCATION_SIZE.
+ */
+public class V2__Pooled_id_sequences extends BaseJavaMigration {
+
+    /**
+     * Must match allocationSize on the entities' @SequenceGenerator
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of(
+            "users", "babies", "appointments", "growth_records",
+            "nutrition_records", "vaccinations", "weight_entries");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    result.next();
+                    maxId = result.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                        + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.maternal.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allow the MISSED appointment status.
+ * The baseline declared the status CHECK inline, so its name is whatever the database generated
+ * (appointments_status_check on PostgreSQL, CONSTRAINT_nn on H2); it is looked up by its clause,
+ * dropped, and replaced by a named constraint.
+ */
+public class V7__Appointment_missed_status extends BaseJavaMigration {
+
+    private static final String FIND_STATUS_CHECKS =
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+            "JOIN information_schema.check_constraints cc " +
+            "ON cc.constraint_schema = tc.constraint_schema AND cc.constraint_name = tc.constraint_name " +
+            "WHERE LOWER(tc.table_name) = 'appointments' AND tc.constraint_type = 'CHECK' " +
+            "AND cc.check_clause LIKE '%RESCHEDULED%'";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        List<String> existing = new ArrayList<>();
+        try (PreparedStatement query = context.getConnection().prepareStatement(FIND_STATUS_CHECKS);
+             ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                existing.add(result.getString(1));
+            }
+        }
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String name : existing) {
+                statement.execute("ALTER TABLE appointments DROP CONSTRAINT \"" + name + "\"");
+            }
+            statement.execute("ALTER TABLE appointments ADD CONSTRAINT chk_appointment_status " +
+                    "CHECK (status IN ('SCHEDULED','COMPLETED','CANCELLED','RESCHEDULED','MISSED'))");
+        }
+    }
+}
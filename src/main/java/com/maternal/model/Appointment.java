@@ -14,9 +14,12 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "appointments", indexes = {
     @Index(name = "idx_appointment_user", columnList = "user_id"),
+    @Index(name = "idx_appointment_user_status_date", columnList = "user_id, status, appointment_date"),
     @Index(name = "idx_appointment_baby", columnList = "baby_id"),
     @Index(name = "idx_appointment_date", columnList = "appointment_date"),
-    @Index(name = "idx_appointment_status", columnList = "status")
+    @Index(name = "idx_appointment_status", columnList = "status"),
+    @Index(name = "idx_appointment_reminder_due", columnList = "status, reminder_sent, appointment_date"),
+    @Index(name = "idx_appointment_scheduled_date", columnList = "status, appointment_date")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -26,7 +29,8 @@ import java.time.LocalDateTime;
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "appointment_type", nullable = false, length = 50)
@@ -96,6 +100,7 @@ public class Appointment {
         SCHEDULED,
         COMPLETED,
         CANCELLED,
-        RESCHEDULED
+        RESCHEDULED,
+        MISSED // still scheduled well after its time; set by MissedAppointmentSweep
     }
 }
@@ -2,6 +2,8 @@ package com.maternal.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,6 +17,8 @@ import java.util.*;
  * Baby entity for tracking child health information
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "babies")
 @Table(name = "babies", indexes = {
     @Index(name = "idx_baby_birth_date", columnList = "birth_date"),
     @Index(name = "idx_baby_parent", columnList = "parent_id"),
@@ -28,7 +32,8 @@ import java.util.*;
 public class Baby {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "babies_seq")
+    @SequenceGenerator(name = "babies_seq", sequenceName = "babies_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
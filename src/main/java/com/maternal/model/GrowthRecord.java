@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class GrowthRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "growth_records_seq")
+    @SequenceGenerator(name = "growth_records_seq", sequenceName = "growth_records_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "record_date", nullable = false)
@@ -0,0 +1,51 @@
+package com.maternal.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one partition of a scheduled job; free when lease_until has passed
+ */
+@Entity
+@Table(name = "job_leases")
+@IdClass(JobLease.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partition;
+
+    @Column(length = 200)
+    private String owner;
+
+    /**
+     * Incremented each time the partition is acquired, so a node that lost it can tell
+     */
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobName;
+        private Integer partition;
+    }
+}
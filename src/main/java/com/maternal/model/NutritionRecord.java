@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class NutritionRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nutrition_records_seq")
+    @SequenceGenerator(name = "nutrition_records_seq", sequenceName = "nutrition_records_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "record_date", nullable = false)
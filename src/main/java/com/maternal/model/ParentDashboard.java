@@ -0,0 +1,28 @@
+package com.maternal.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored dashboard document for one parent, kept current by the services that write its contents
+ */
+@Entity
+@Table(name = "parent_dashboards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParentDashboard {
+
+    @Id
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(columnDefinition = "TEXT")
+    private String document; // JSON, null until first built
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
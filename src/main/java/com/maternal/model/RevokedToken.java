@@ -0,0 +1,57 @@
+package com.maternal.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revoked JWT or refresh-token family, kept until the token would have expired anyway
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_id", columnList = "token_id", unique = true),
+    @Index(name = "idx_revoked_token_expires", columnList = "expires_at"),
+    @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    // Revocations are written one at a time, so there are no batches a pooled sequence would help;
+    // cross-node sync reads by revoked_at, not id order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", unique = true, nullable = false, length = 64)
+    private String tokenId; // JWT id (jti) or refresh-token family id
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "token_type", nullable = false, length = 20)
+    private TokenType tokenType;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+
+    /**
+     * Revoked token type enumeration
+     */
+    public enum TokenType {
+        ACCESS,
+        REFRESH,
+        REFRESH_FAMILY
+    }
+}
@@ -2,6 +2,8 @@ package com.maternal.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,9 +15,12 @@ import java.time.LocalDateTime;
  * Vaccination entity for tracking baby vaccinations
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vaccinations")
 @Table(name = "vaccinations", indexes = {
     @Index(name = "idx_vaccination_baby", columnList = "baby_id"),
-    @Index(name = "idx_vaccination_date", columnList = "scheduled_date")
+    @Index(name = "idx_vaccination_date", columnList = "scheduled_date"),
+    @Index(name = "idx_vaccination_upcoming", columnList = "baby_id, status, scheduled_date")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -25,7 +30,8 @@ import java.time.LocalDateTime;
 public class Vaccination {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vaccinations_seq")
+    @SequenceGenerator(name = "vaccinations_seq", sequenceName = "vaccinations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "vaccine_name", nullable = false, length = 100)
@@ -56,6 +62,9 @@ public class Vaccination {
     @Column(name = "side_effects", columnDefinition = "TEXT")
     private String sideEffects;
 
+    @Column(name = "last_reminded_on")
+    private LocalDate lastRemindedOn; // day the nightly sweep last queued a reminder
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
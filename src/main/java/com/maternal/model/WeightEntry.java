@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class WeightEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weight_entries_seq")
+    @SequenceGenerator(name = "weight_entries_seq", sequenceName = "weight_entries_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,12 +1,22 @@
 package com.maternal.repository;
 
 import com.maternal.model.Appointment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Appointment entity
@@ -19,6 +29,20 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     List<Appointment> findByUserIdOrderByAppointmentDateDesc(Long userId);
 
+    /**
+     * Find the first page of a user's appointments, newest first with id as tie-breaker
+     */
+    List<Appointment> findByUserIdOrderByAppointmentDateDescIdDesc(Long userId, Limit limit);
+
+    /**
+     * Find the page of a user's appointments after the given (appointmentDate, id) keyset position
+     */
+    @Query("SELECT a FROM Appointment a WHERE a.user.id = :userId " +
+           "AND (a.appointmentDate < :appointmentDate " +
+           "OR (a.appointmentDate = :appointmentDate AND a.id < :id)) " +
+           "ORDER BY a.appointmentDate DESC, a.id DESC")
+    List<Appointment> findByUserIdAfter(Long userId, LocalDateTime appointmentDate, Long id, Limit limit);
+
     /**
      * Find appointments by baby
      */
@@ -37,6 +61,12 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
            "ORDER BY a.appointmentDate ASC")
     List<Appointment> findUpcomingAppointmentsByUserId(Long userId, LocalDateTime now);
 
+    /**
+     * Find the next scheduled appointments for user, soonest first
+     */
+    List<Appointment> findByUserIdAndStatusAndAppointmentDateAfterOrderByAppointmentDateAsc(
+            Long userId, Appointment.AppointmentStatus status, LocalDateTime after, Limit limit);
+
     /**
      * Find overdue appointments
      */
@@ -52,9 +82,51 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findAppointmentsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
 
     /**
-     * Find appointments needing reminders
+     * Claim appointments needing reminders, soonest first.
+     * Rows are locked until the transaction ends and rows locked by another worker are skipped,
+     * so concurrent workers each get a disjoint batch.
      */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
     @Query("SELECT a FROM Appointment a WHERE a.reminderSent = false " +
-           "AND a.status = 'SCHEDULED' AND a.appointmentDate BETWEEN :now AND :reminderWindow")
-    List<Appointment> findAppointmentsNeedingReminder(LocalDateTime now, LocalDateTime reminderWindow);
+           "AND a.status = 'SCHEDULED' AND a.appointmentDate BETWEEN :now AND :reminderWindow " +
+           "ORDER BY a.appointmentDate ASC")
+    List<Appointment> findAppointmentsNeedingReminder(LocalDateTime now, LocalDateTime reminderWindow, Limit limit);
+
+    /**
+     * Claim one appointment if it still needs a reminder; empty if it was handled meanwhile or
+     * another worker holds it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT a FROM Appointment a WHERE a.id = :id AND a.reminderSent = false AND a.status = 'SCHEDULED'")
+    Optional<Appointment> claimForReminder(Long id);
+
+    /**
+     * Find appointments with their user and baby loaded
+     */
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user LEFT JOIN FETCH a.baby WHERE a.id IN :ids")
+    List<Appointment> findWithUserAndBabyByIdIn(Collection<Long> ids);
+
+    /**
+     * Mark reminders sent for a batch of appointments
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSent = true, a.updatedAt = :now WHERE a.id IN :ids")
+    int markRemindersSent(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Find the ids of appointments still scheduled before the cutoff, oldest first
+     */
+    @Query("SELECT a.id FROM Appointment a WHERE a.status = 'SCHEDULED' AND a.appointmentDate < :cutoff " +
+           "ORDER BY a.appointmentDate ASC")
+    List<Long> findScheduledIdsBefore(LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Mark a batch of appointments missed, skipping any whose status changed since they were found
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = 'MISSED', a.updatedAt = :now " +
+           "WHERE a.id IN :ids AND a.status = 'SCHEDULED'")
+    int markMissed(Collection<Long> ids, LocalDateTime now);
 }
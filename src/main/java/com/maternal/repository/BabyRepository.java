@@ -1,10 +1,16 @@
 package com.maternal.repository;
 
 import com.maternal.model.Baby;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +21,9 @@ import java.util.Optional;
 public interface BabyRepository extends JpaRepository<Baby, Long> {
 
     /**
-     * Find baby by unique ID
+     * Find baby by unique ID; cached, since every clinic QR scan looks one up
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Baby> findByUniqueId(String uniqueId);
 
     /**
@@ -30,10 +37,16 @@ public interface BabyRepository extends JpaRepository<Baby, Long> {
     List<Baby> findByParentId(Long parentId);
 
     /**
-     * Find active babies for a parent
+     * Find active babies for a parent; cached
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Baby> findByParentIdAndIsActiveTrue(Long parentId);
 
+    /**
+     * Find one keyset page of active babies for a parent, ordered by id
+     */
+    List<Baby> findByParentIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long parentId, Long id, Limit limit);
+
     /**
      * Find all active babies
      */
@@ -45,8 +58,26 @@ public interface BabyRepository extends JpaRepository<Baby, Long> {
     @Query("SELECT b FROM Baby b WHERE LOWER(b.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Baby> searchByName(String name);
 
+    /**
+     * Find searchable fields for one keyset page of babies; rows are [id, name, isActive]
+     */
+    @Query("SELECT b.id, b.name, b.isActive FROM Baby b WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<Object[]> findSearchRowsAfter(Long afterId, Limit limit);
+
+    /**
+     * Find searchable fields of babies updated since the given time; rows are [id, name, isActive]
+     */
+    @Query("SELECT b.id, b.name, b.isActive FROM Baby b WHERE b.updatedAt >= :since")
+    List<Object[]> findSearchRowsUpdatedSince(LocalDateTime since);
+
     /**
      * Get babies count for a parent
      */
     long countByParentId(Long parentId);
+
+    /**
+     * Get babies count per parent in one grouped query; rows are [parentId, count]
+     */
+    @Query("SELECT b.parent.id, COUNT(b) FROM Baby b WHERE b.parent.id IN :parentIds GROUP BY b.parent.id")
+    List<Object[]> countByParentIds(Collection<Long> parentIds);
 }
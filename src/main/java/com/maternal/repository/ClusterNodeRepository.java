@@ -0,0 +1,37 @@
+package com.maternal.repository;
+
+import com.maternal.model.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for ClusterNode entity
+ */
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    /**
+     * Record that a node is alive
+     */
+    @Modifying
+    @Query("UPDATE ClusterNode n SET n.heartbeatAt = :now WHERE n.nodeId = :nodeId")
+    int heartbeat(String nodeId, LocalDateTime now);
+
+    /**
+     * Find the ids of nodes that have sent a heartbeat since the given time, in a stable order
+     */
+    @Query("SELECT n.nodeId FROM ClusterNode n WHERE n.heartbeatAt > :since ORDER BY n.nodeId ASC")
+    List<String> findLiveNodeIds(LocalDateTime since);
+
+    /**
+     * Delete nodes last seen before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM ClusterNode n WHERE n.heartbeatAt < :cutoff")
+    int deleteStale(LocalDateTime cutoff);
+}
@@ -0,0 +1,56 @@
+package com.maternal.repository;
+
+import com.maternal.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for JobLease entity.
+ * Every change is a conditional UPDATE on the fencing token, so it only applies if nobody else
+ * acquired the partition since the caller last read it.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, JobLease.Key> {
+
+    /**
+     * Find every partition of a job
+     */
+    List<JobLease> findByJobNameOrderByPartitionAsc(String jobName);
+
+    /**
+     * Take a free partition, as long as its token is still the one the caller read
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.fencingToken = :token + 1, l.leaseUntil = :leaseUntil, " +
+           "l.acquiredAt = :now WHERE l.jobName = :jobName AND l.partition = :partition " +
+           "AND l.fencingToken = :token AND l.leaseUntil <= :now")
+    int acquire(String jobName, int partition, long token, String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Extend a lease the owner still holds under the same token
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :leaseUntil WHERE l.jobName = :jobName AND l.partition = :partition " +
+           "AND l.owner = :owner AND l.fencingToken = :token")
+    int renew(String jobName, int partition, long token, String owner, LocalDateTime leaseUntil);
+
+    /**
+     * Give up a lease so another node can take it straight away
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = null, l.leaseUntil = :now WHERE l.jobName = :jobName " +
+           "AND l.partition = :partition AND l.owner = :owner AND l.fencingToken = :token")
+    int release(String jobName, int partition, long token, String owner, LocalDateTime now);
+
+    /**
+     * Give up every lease a node holds
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = null, l.leaseUntil = :now WHERE l.owner = :owner AND l.leaseUntil > :now")
+    int releaseAll(String owner, LocalDateTime now);
+}
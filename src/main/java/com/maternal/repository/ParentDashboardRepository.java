@@ -0,0 +1,24 @@
+package com.maternal.repository;
+
+import com.maternal.model.ParentDashboard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ParentDashboard entity
+ */
+@Repository
+public interface ParentDashboardRepository extends JpaRepository<ParentDashboard, Long> {
+
+    /**
+     * Find a parent's dashboard row and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM ParentDashboard d WHERE d.parentId = :parentId")
+    Optional<ParentDashboard> findForUpdate(Long parentId);
+}
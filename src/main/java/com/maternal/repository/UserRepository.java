@@ -1,10 +1,18 @@
 package com.maternal.repository;
 
+import com.maternal.dto.UserDTO;
 import com.maternal.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +37,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     List<User> findByIsActiveTrue();
 
+    /**
+     * Find one page of users as DTOs, optionally filtered by role and active flag
+     */
+    @Query(value = "SELECT new com.maternal.dto.UserDTO(u.id, u.fullName, u.email, u.role, u.phone, " +
+                   "u.dateOfBirth, u.address, u.emergencyContact, u.emergencyPhone, u.isActive, " +
+                   "u.emailVerified, u.profilePicture, u.createdAt, u.updatedAt, u.lastLogin) " +
+                   "FROM User u WHERE (:role IS NULL OR u.role = :role) " +
+                   "AND (:active IS NULL OR u.isActive = :active)",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE (:role IS NULL OR u.role = :role) " +
+                        "AND (:active IS NULL OR u.isActive = :active)")
+    Page<UserDTO> findUserPage(User.Role role, Boolean active, Pageable pageable);
+
     /**
      * Find users by role
      */
@@ -52,4 +72,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE LOWER(u.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<User> searchUsers(String searchTerm);
+
+    /**
+     * Find users as DTOs by id, in no particular order
+     */
+    @Query("SELECT new com.maternal.dto.UserDTO(u.id, u.fullName, u.email, u.role, u.phone, " +
+           "u.dateOfBirth, u.address, u.emergencyContact, u.emergencyPhone, u.isActive, " +
+           "u.emailVerified, u.profilePicture, u.createdAt, u.updatedAt, u.lastLogin) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserDTO> findUserDTOsByIdIn(Collection<Long> ids);
+
+    /**
+     * Find searchable fields for one keyset page of users; rows are [id, fullName, email]
+     */
+    @Query("SELECT u.id, u.fullName, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Object[]> findSearchRowsAfter(Long afterId, Limit limit);
+
+    /**
+     * Find searchable fields of users updated since the given time; rows are [id, fullName, email]
+     */
+    @Query("SELECT u.id, u.fullName, u.email FROM User u WHERE u.updatedAt >= :since")
+    List<Object[]> findSearchRowsUpdatedSince(LocalDateTime since);
+
+    /**
+     * Get the current token version for a user. Read-write so it is read from the primary;
+     * a replica could still return the version from before a revokeAll.
+     */
+    @Transactional
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    /**
+     * Increment the token version, revoking every token issued to the user
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.id = :id")
+    int incrementTokenVersion(Long id);
+
+    /**
+     * Replace the stored password hash
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :passwordHash WHERE u.email = :email")
+    int updatePasswordHash(String email, String passwordHash);
 }
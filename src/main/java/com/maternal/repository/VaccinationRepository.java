@@ -1,12 +1,20 @@
 package com.maternal.repository;
 
+import com.maternal.dto.VaccinationDue;
+import com.maternal.dto.VaccinationProgress;
 import com.maternal.model.Vaccination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Vaccination entity
@@ -24,6 +32,11 @@ public interface VaccinationRepository extends JpaRepository<Vaccination, Long>
      */
     List<Vaccination> findByBabyIdAndStatus(Long babyId, String status);
 
+    /**
+     * Find vaccinations with the given status for several babies, earliest first
+     */
+    List<Vaccination> findByBabyIdInAndStatusOrderByScheduledDateAsc(Collection<Long> babyIds, String status);
+
     /**
      * Find upcoming vaccinations
      */
@@ -43,4 +56,45 @@ public interface VaccinationRepository extends JpaRepository<Vaccination, Long>
      * Get completed vaccinations count
      */
     long countByBabyIdAndStatus(Long babyId, String status);
+
+    /**
+     * Get total and completed vaccination counts per baby in one grouped query
+     */
+    @Query("SELECT new com.maternal.dto.VaccinationProgress(v.baby.id, COUNT(v), " +
+           "SUM(CASE WHEN v.status = 'COMPLETED' THEN 1L ELSE 0L END)) " +
+           "FROM Vaccination v WHERE v.baby.id IN :babyIds GROUP BY v.baby.id")
+    List<VaccinationProgress> findProgressByBabyIds(Collection<Long> babyIds);
+
+    /**
+     * Stream scheduled vaccinations falling in the date range that are due a reminder, for every
+     * active baby of an active parent, in the given partitions (vaccination id modulo partitionCount),
+     * as projections so nothing enters the persistence context. A vaccination is due a reminder if it
+     * has never had one, its last one was on or before repeatBefore, or it has become overdue since.
+     * Rows are fetched from the cursor a block at a time; the stream must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.maternal.dto.VaccinationDue(v.id, v.vaccineName, v.scheduledDate, b.name, p.email) " +
+           "FROM Vaccination v JOIN v.baby b JOIN b.parent p " +
+           "WHERE v.status = 'SCHEDULED' AND v.scheduledDate BETWEEN :from AND :until " +
+           "AND b.isActive = true AND p.isActive = true AND MOD(v.id, :partitionCount) IN :partitions " +
+           "AND (v.lastRemindedOn IS NULL OR v.lastRemindedOn <= :repeatBefore " +
+           "OR (v.lastRemindedOn < v.scheduledDate AND v.scheduledDate < :today))")
+    Stream<VaccinationDue> streamDueForReminder(LocalDate from, LocalDate until, LocalDate today, LocalDate repeatBefore,
+                                                int partitionCount, Collection<Integer> partitions);
+
+    /**
+     * Of the given vaccinations, the ids still due a reminder by the same rule as streamDueForReminder
+     */
+    @Query("SELECT v.id FROM Vaccination v WHERE v.id IN :ids " +
+           "AND (v.lastRemindedOn IS NULL OR v.lastRemindedOn <= :repeatBefore " +
+           "OR (v.lastRemindedOn < v.scheduledDate AND v.scheduledDate < :today))")
+    List<Long> findIdsDueForReminder(Collection<Long> ids, LocalDate today, LocalDate repeatBefore);
+
+    /**
+     * Record that the given vaccinations were reminded on the given day
+     */
+    @Modifying
+    @Query("UPDATE Vaccination v SET v.lastRemindedOn = :remindedOn WHERE v.id IN :ids")
+    int markReminded(Collection<Long> ids, LocalDate remindedOn);
 }
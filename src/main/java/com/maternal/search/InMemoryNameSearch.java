@@ -0,0 +1,147 @@
+package com.maternal.search;
+
+import com.maternal.repository.BabyRepository;
+import com.maternal.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Name search served from in-process trigram indexes.
+ * The indexes are built at startup, updated after each committed change on this node,
+ * and re-synced periodically from updated_at so changes made on other nodes show up too.
+ */
+@Component
+@ConditionalOnProperty(name = "search.mode", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryNameSearch implements NameSearch {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final BabyRepository babyRepository;
+    private final double minScore;
+    private final int loadBatchSize;
+
+    private final TrigramIndex users = new TrigramIndex();
+    private final TrigramIndex babies = new TrigramIndex();
+    private volatile LocalDateTime lastSync;
+
+    public InMemoryNameSearch(
+            UserRepository userRepository,
+            BabyRepository babyRepository,
+            @Value("${search.min-score:0.5}") double minScore,
+            @Value("${search.memory.load-batch-size:5000}") int loadBatchSize
+    ) {
+        this.userRepository = userRepository;
+        this.babyRepository = babyRepository;
+        this.minScore = minScore;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @Override
+    public List<SearchHit> searchUsers(String query, SearchHit after, int limit) {
+        return users.search(query, minScore, after, limit);
+    }
+
+    @Override
+    public List<SearchHit> searchBabies(String query, SearchHit after, int limit) {
+        return babies.search(query, minScore, after, limit);
+    }
+
+    @Override
+    public void userChanged(Long id, String fullName, String email) {
+        afterCommit(() -> users.put(id, userText(fullName, email)));
+    }
+
+    @Override
+    public void babyChanged(Long id, String name, boolean active) {
+        afterCommit(() -> indexBaby(id, name, active));
+    }
+
+    /**
+     * Build both indexes in id order, one batch at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findSearchRowsAfter(afterId, Limit.of(loadBatchSize));
+            for (Object[] row : rows) {
+                users.put((Long) row[0], userText((String) row[1], (String) row[2]));
+                afterId = (Long) row[0];
+            }
+        } while (rows.size() == loadBatchSize);
+
+        afterId = 0;
+        do {
+            rows = babyRepository.findSearchRowsAfter(afterId, Limit.of(loadBatchSize));
+            for (Object[] row : rows) {
+                indexBaby((Long) row[0], (String) row[1], (Boolean) row[2]);
+                afterId = (Long) row[0];
+            }
+        } while (rows.size() == loadBatchSize);
+
+        lastSync = startedAt;
+        log.info("Search indexes loaded: {} users, {} babies", users.size(), babies.size());
+    }
+
+    /**
+     * Re-index rows changed since the last sync, with some overlap for clock skew between nodes
+     */
+    @Scheduled(fixedDelayString = "${search.memory.sync-interval-ms:30000}")
+    public void sync() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(SYNC_OVERLAP);
+
+        for (Object[] row : userRepository.findSearchRowsUpdatedSince(since)) {
+            users.put((Long) row[0], userText((String) row[1], (String) row[2]));
+        }
+        for (Object[] row : babyRepository.findSearchRowsUpdatedSince(since)) {
+            indexBaby((Long) row[0], (String) row[1], (Boolean) row[2]);
+        }
+        lastSync = startedAt;
+    }
+
+    private void indexBaby(Long id, String name, Boolean active) {
+        if (Boolean.TRUE.equals(active)) {
+            babies.put(id, name);
+        } else {
+            babies.remove(id);
+        }
+    }
+
+    private static String userText(String fullName, String email) {
+        return fullName + " " + email;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.maternal.search;
+
+import java.util.List;
+
+/**
+ * Ranked name search over users and babies.
+ * Results are ordered by score descending, then id; pass the last hit of a page as
+ * {@code after} to get the next page.
+ */
+public interface NameSearch {
+
+    List<SearchHit> searchUsers(String query, SearchHit after, int limit);
+
+    List<SearchHit> searchBabies(String query, SearchHit after, int limit);
+
+    /**
+     * Called after a user is created or its searchable fields change
+     */
+    default void userChanged(Long id, String fullName, String email) {
+    }
+
+    /**
+     * Called after a baby is created, renamed or deactivated
+     */
+    default void babyChanged(Long id, String name, boolean active) {
+    }
+}
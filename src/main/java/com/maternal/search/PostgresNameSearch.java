@@ -0,0 +1,73 @@
+package com.maternal.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Name search using PostgreSQL pg_trgm with GIN trigram indexes, so the database does the
+ * ranking and nothing is held in application memory. Scores match the in-memory mode:
+ * mostly word similarity, with plain similarity as a tie-breaker.
+ * The extension and indexes are created by the PostgreSQL migrations V10 and V11.
+ */
+@Component
+@ConditionalOnProperty(name = "search.mode", havingValue = "postgres")
+public class PostgresNameSearch implements NameSearch {
+
+    private static final String USER_DOCUMENT = "(full_name || ' ' || email)";
+    private static final String BABY_DOCUMENT = "name";
+
+    private static final RowMapper<SearchHit> HIT_MAPPER =
+            (rs, rowNum) -> new SearchHit(rs.getLong("id"), rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double minScore;
+
+    public PostgresNameSearch(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${search.min-score:0.5}") double minScore
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minScore = minScore;
+    }
+
+    @Override
+    public List<SearchHit> searchUsers(String query, SearchHit after, int limit) {
+        return search("users", USER_DOCUMENT, "", query, after, limit);
+    }
+
+    @Override
+    public List<SearchHit> searchBabies(String query, SearchHit after, int limit) {
+        return search("babies", BABY_DOCUMENT, " AND is_active = true", query, after, limit);
+    }
+
+    private List<SearchHit> search(String table, String document, String filter,
+                                   String query, SearchHit after, int limit) {
+        // The <% operator can use the GIN index; its cut-off is the word_similarity_threshold setting
+        String ranked = "SELECT id, 0.9 * word_similarity(?, " + document + ") + 0.1 * similarity(?, " + document + ") AS score"
+                + " FROM " + table + " WHERE ? <% " + document + filter;
+        return readOnlyTransaction.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                    String.class, String.valueOf(minScore));
+            if (after == null) {
+                return jdbcTemplate.query("SELECT id, score FROM (" + ranked + ") ranked"
+                                + " ORDER BY score DESC, id ASC LIMIT ?",
+                        HIT_MAPPER, query, query, query, limit);
+            }
+            return jdbcTemplate.query("SELECT id, score FROM (" + ranked + ") ranked"
+                            + " WHERE score < ? OR (score = ? AND id > ?)"
+                            + " ORDER BY score DESC, id ASC LIMIT ?",
+                    HIT_MAPPER, query, query, query, after.getScore(), after.getScore(), after.getId(), limit);
+        });
+    }
+}
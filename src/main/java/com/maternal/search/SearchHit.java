@@ -0,0 +1,47 @@
+package com.maternal.search;
+
+import com.maternal.dto.Cursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked search result: the matching row id and its relevance score
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+    private Long id;
+    private double score;
+
+    /**
+     * Decode a search cursor into the hit it points past
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SearchHit fromCursor(String cursor) {
+        String[] keys = Cursor.decode(cursor, 2);
+        try {
+            return new SearchHit(Cursor.parseId(keys[1]), Double.parseDouble(keys[0]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String toCursor() {
+        return Cursor.encode(score, id);
+    }
+
+    /**
+     * Whether this hit sorts after the given keyset position (score descending, id ascending)
+     */
+    public boolean isAfter(SearchHit position) {
+        if (position == null) {
+            return true;
+        }
+        int byScore = Double.compare(position.getScore(), score);
+        return byScore > 0 || (byScore == 0 && id > position.getId());
+    }
+}
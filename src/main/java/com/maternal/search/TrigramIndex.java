@@ -0,0 +1,124 @@
+package com.maternal.search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram inverted index over short texts such as names and emails.
+ * Texts are split into words and padded the way PostgreSQL pg_trgm does, so both
+ * search modes rank alike. Reads are lock-free; writes are serialized.
+ */
+class TrigramIndex {
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    synchronized void put(Long id, String text) {
+        Set<String> trigrams = trigrams(text);
+        Set<String> previous = documents.put(id, trigrams);
+        if (previous != null) {
+            for (String trigram : previous) {
+                if (!trigrams.contains(trigram)) {
+                    removePosting(trigram, id);
+                }
+            }
+        }
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        Set<String> previous = documents.remove(id);
+        if (previous != null) {
+            previous.forEach(trigram -> removePosting(trigram, id));
+        }
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Rank documents by the share of query trigrams they contain, with overall similarity
+     * as a small secondary term so shorter, closer texts rank first among equal matches.
+     *
+     * @param minScore minimum share of query trigrams a document must contain, 0..1
+     * @param after    keyset position of the last hit of the previous page, or null
+     */
+    List<SearchHit> search(String query, double minScore, SearchHit after, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        // A document scoring >= minScore shares at least `required` query trigrams, so it must
+        // appear in one of the (size - required + 1) rarest posting lists. Only those are scanned;
+        // the common trigrams are checked per candidate.
+        int querySize = queryTrigrams.size();
+        int required = Math.max(1, (int) Math.ceil(minScore * querySize));
+        List<Set<Long>> lists = new ArrayList<>(querySize);
+        for (String trigram : queryTrigrams) {
+            lists.add(postings.getOrDefault(trigram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> list : lists.subList(0, querySize - required + 1)) {
+            candidates.addAll(list);
+        }
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            int shared = 0;
+            for (Set<Long> list : lists) {
+                if (list.contains(id)) {
+                    shared++;
+                }
+            }
+            Set<String> document = documents.get(id);
+            if (shared < required || document == null) {
+                continue;
+            }
+            double coverage = (double) shared / querySize;
+            double similarity = (double) shared / (querySize + document.size() - shared);
+            SearchHit hit = new SearchHit(id, 0.9 * coverage + 0.1 * similarity);
+            if (hit.isAfter(after)) {
+                hits.add(hit);
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed().thenComparing(SearchHit::getId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Trigrams of every word, each word lower-cased and padded with two leading and one trailing space
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void removePosting(String trigram, Long id) {
+        Set<Long> ids = postings.get(trigram);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigram, ids);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.maternal.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maternal.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for the credential endpoints.
+ * Every request takes a token from its client IP bucket and, when the body carries one,
+ * from its email bucket, so a single address cannot be attacked from many IPs either.
+ * Buckets live in a bounded Caffeine map and are dropped once idle long enough to be full again.
+ * The client IP is the remote address after server.forward-headers-strategy has applied
+ * X-Forwarded-For from trusted proxies, so clients behind the load balancer get their own buckets.
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> paths;
+
+    private final int ipCapacity;
+    private final long ipRefillNanos;
+    private final int emailCapacity;
+    private final long emailRefillNanos;
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+
+    private final Counter ipRejectedCounter;
+    private final Counter emailRejectedCounter;
+
+    public AuthRateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.paths:/api/auth/login,/api/auth/register}") List<String> paths,
+            @Value("${security.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${security.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${security.rate-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+            @Value("${security.rate-limit.max-keys:100000}") long maxKeys,
+            MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.paths = paths;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = TimeUnit.MINUTES.toNanos(1) / ipRefillPerMinute;
+        this.emailCapacity = emailCapacity;
+        this.emailRefillNanos = TimeUnit.MINUTES.toNanos(1) / emailRefillPerMinute;
+
+        // An idle bucket is full again after capacity * refill interval, so evicting it then loses nothing
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(ipRefillNanos * ipCapacity))
+                .build();
+        this.emailBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(emailRefillNanos * emailCapacity))
+                .build();
+
+        this.ipRejectedCounter = Counter.builder("auth.rate-limit.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.emailRejectedCounter = Counter.builder("auth.rate-limit.rejected")
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", ipBuckets, Cache::estimatedSize)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", emailBuckets, Cache::estimatedSize)
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String clientIp = request.getRemoteAddr();
+        long waitNanos = ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillNanos)).tryConsume();
+        if (waitNanos > 0) {
+            ipRejectedCounter.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        // Read one byte past the limit so a body without Content-Length is not silently cut off
+        byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                ? null
+                : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body == null || body.length > MAX_BODY_BYTES) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String email = extractEmail(cachedRequest.body);
+        if (email != null) {
+            waitNanos = emailBuckets.get(email, key -> new TokenBucket(emailCapacity, emailRefillNanos)).tryConsume();
+            if (waitNanos > 0) {
+                emailRejectedCounter.increment();
+                log.warn("Rate limit exceeded for email: {}", email);
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException | RuntimeException e) {
+            // Malformed bodies are rejected by request validation; only the IP bucket applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TokenBucket.retryAfterSeconds(waitNanos)));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    /**
+     * Request whose body was read up front so the controller can read it again
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
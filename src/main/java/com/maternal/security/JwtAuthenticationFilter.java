@@ -1,5 +1,8 @@
 package com.maternal.security;
 
+import com.maternal.model.User;
+import com.maternal.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,7 +26,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     protected void doFilterInternal(
@@ -35,11 +39,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Verify the token once; claims are reused for the rest of the request
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.validateAndExtractClaims(jwt) : null;
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (claims != null && !jwtUtil.isRefreshToken(claims)
+                    && !tokenRevocationStore.isRevoked(claims.getId())) {
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -57,6 +64,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build the principal from signed claims when the token carries them,
+     * otherwise fall back to loading the user by subject
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+
+        if (jwtUtil.isSelfContained() && userId != null && role != null) {
+            Integer tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+            if (!tokenVersionRegistry.isCurrent(userId, tokenVersion)) {
+                return null;
+            }
+            return User.builder()
+                    .id(userId)
+                    .email(claims.getSubject())
+                    .role(User.Role.valueOf(role))
+                    .tokenVersion(tokenVersion)
+                    .isActive(true)
+                    .build();
+        }
+
+        UserDetails userDetails = userDetailsService.loadPrincipal(claims.getSubject());
+        return claims.getSubject().equals(userDetails.getUsername()) ? userDetails : null;
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,161 @@
+package com.maternal.security;
+
+import com.maternal.model.RevokedToken;
+import com.maternal.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Revoked token ids held in memory as a Bloom filter in front of an exact map,
+ * persisted in the revoked_tokens table so revocations survive restarts and reach other nodes.
+ * Lookups are lock-free; the common case (not revoked) is answered by the Bloom filter alone.
+ * Other nodes' revocations are picked up by revoked_at over a window reaching sync-overlap-ms
+ * back past the previous sync, so rows committed late or stamped by a node with a slightly
+ * different clock are not missed; the hourly purge also reloads every unexpired revocation.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile BloomFilter bloomFilter;
+    private final Duration syncOverlap;
+    private volatile LocalDateTime lastSyncedAt;
+
+    public TokenRevocationStore(
+            RevokedTokenRepository revokedTokenRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.token-revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${security.token-revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${security.token-revocation.sync-overlap-ms:60000}") long syncOverlapMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMs);
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        Gauge.builder("auth.tokens.revoked", revoked, Map::size)
+                .description("Unexpired revoked token ids held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        syncFromDatabase();
+        log.info("Loaded {} token revocations", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a token id if it is not already revoked.
+     * The revocation is stored before it is remembered here, so if the insert fails the id is
+     * not left revoked on this node only, and a retry can still revoke it.
+     *
+     * @return false if the id was already revoked, here or on another node
+     */
+    public boolean revokeIfActive(String tokenId, RevokedToken.TokenType tokenType, Long userId, LocalDateTime expiresAt) {
+        if (revoked.containsKey(tokenId)) {
+            return false;
+        }
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> revokedTokenRepository.saveAndFlush(
+                    RevokedToken.builder()
+                            .tokenId(tokenId)
+                            .tokenType(tokenType)
+                            .userId(userId)
+                            .expiresAt(expiresAt)
+                            .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Unique token_id: another request or node revoked it first
+            remember(tokenId, expiresAt);
+            return false;
+        }
+        remember(tokenId, expiresAt);
+        return true;
+    }
+
+    public void revoke(String tokenId, RevokedToken.TokenType tokenType, Long userId, LocalDateTime expiresAt) {
+        revokeIfActive(tokenId, tokenType, userId, expiresAt);
+    }
+
+    /**
+     * Pick up revocations written by other nodes
+     */
+    @Scheduled(fixedDelayString = "${security.token-revocation.sync-interval-ms:5000}")
+    public void syncFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> added = lastSyncedAt == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSyncedAt.minus(syncOverlap), now);
+        added.forEach(token -> remember(token.getTokenId(), token.getExpiresAt()));
+        lastSyncedAt = now;
+    }
+
+    /**
+     * Drop expired revocations, reload any unexpired one the incremental sync missed, and rebuild
+     * the Bloom filter, which cannot remove entries itself
+     */
+    @Scheduled(cron = "${security.token-revocation.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(token -> revoked.putIfAbsent(token.getTokenId(), token.getExpiresAt()));
+
+        rebuildLock.writeLock().lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2L), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Purged {} expired token revocations, {} remain", deleted, revoked.size());
+    }
+
+    private void remember(String tokenId, LocalDateTime expiresAt) {
+        if (revoked.putIfAbsent(tokenId, expiresAt) == null) {
+            addToBloomFilter(tokenId);
+        }
+    }
+
+    private void addToBloomFilter(String tokenId) {
+        rebuildLock.readLock().lock();
+        try {
+            bloomFilter.put(tokenId);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.maternal.service;
+
+import com.maternal.model.Appointment;
+import com.maternal.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Sends reminders for scheduled appointments coming up within the reminder window.
+ * Each batch is one transaction: claim up to batch-size due appointments with FOR UPDATE SKIP
+ * LOCKED, queue their reminders in the email outbox, then mark them with a single bulk UPDATE.
+ * Other instances skip the locked rows and claim the next batch, so they share the work without
+ * queueing twice, and a reminder is queued exactly when its appointment is marked. Nothing is sent
+ * while the rows are locked: the outbox dispatcher delivers later, with its own retry limit.
+ * If a batch fails, its appointments are retried one per transaction; one that still fails is
+ * marked anyway and counted in appointments.reminders.failed, so it cannot block the rest.
+ */
+@Service
+@ConditionalOnProperty(name = "reminders.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AppointmentReminderService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEEE, d MMMM yyyy 'at' HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final int batchSize;
+    private final Counter queuedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+
+    public AppointmentReminderService(
+            AppointmentRepository appointmentRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            @Value("${reminders.window-hours:24}") long windowHours,
+            @Value("${reminders.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = Duration.ofHours(windowHours);
+        this.batchSize = batchSize;
+
+        this.queuedCounter = Counter.builder("appointments.reminders.queued")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("appointments.reminders.failed")
+                .description("Appointments whose reminder could not be queued and was skipped")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("appointments.reminders.lag")
+                .description("Time from an appointment entering the reminder window to its reminder being queued")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("appointments.reminders.batch")
+                .description("Time to claim, queue and mark one batch of reminders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Work through every due appointment, batch by batch
+     */
+    @Scheduled(fixedDelayString = "${reminders.interval-ms:60000}", initialDelayString = "${reminders.initial-delay-ms:30000}")
+    public void sendDueReminders() {
+        int handled = 0;
+        int claimed;
+        do {
+            claimed = batchTimer.record(this::processBatch);
+            handled += claimed;
+        } while (claimed == batchSize);
+
+        if (handled > 0) {
+            log.info("Appointment reminders: {} appointments handled", handled);
+        }
+    }
+
+    /**
+     * @return the number of appointments claimed
+     */
+    private int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Appointment> claimed = appointmentRepository.findAppointmentsNeedingReminder(
+                        now, now.plus(window), Limit.of(batchSize));
+                if (!claimed.isEmpty()) {
+                    queueReminders(claimed.stream().map(Appointment::getId).toList(), now);
+                    recordQueued(claimed);
+                }
+                return claimed.size();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Appointment reminder batch failed, retrying one appointment at a time: {}", e.getMessage());
+            return processOneByOne(now);
+        }
+    }
+
+    /**
+     * Queue each due appointment's reminder in its own transaction, skipping any that fail
+     *
+     * @return the number of appointments found due
+     */
+    private int processOneByOne(LocalDateTime now) {
+        List<Long> ids = transactionTemplate.execute(status -> appointmentRepository
+                .findAppointmentsNeedingReminder(now, now.plus(window), Limit.of(batchSize))
+                .stream()
+                .map(Appointment::getId)
+                .toList());
+        for (Long id : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> appointmentRepository.claimForReminder(id)
+                        .ifPresent(appointment -> {
+                            queueReminders(List.of(id), now);
+                            recordQueued(List.of(appointment));
+                        }));
+            } catch (RuntimeException e) {
+                log.error("Could not queue the reminder for appointment {}; skipping it", id, e);
+                transactionTemplate.executeWithoutResult(status ->
+                        appointmentRepository.markRemindersSent(List.of(id), now));
+                failedCounter.increment();
+            }
+        }
+        return ids.size();
+    }
+
+    /**
+     * Queue the reminders of claimed appointments and mark them, in the caller's transaction
+     */
+    private void queueReminders(List<Long> ids, LocalDateTime now) {
+        // Load users and babies in one query
+        appointmentRepository.findWithUserAndBabyByIdIn(ids)
+                .forEach(appointment -> emailService.sendAppointmentReminder(
+                        appointment.getUser().getEmail(), details(appointment)));
+        appointmentRepository.markRemindersSent(ids, now);
+    }
+
+    private void recordQueued(List<Appointment> appointments) {
+        LocalDateTime queuedAt = LocalDateTime.now();
+        appointments.forEach(appointment -> lagTimer.record(Duration.between(dueAt(appointment), queuedAt)));
+        queuedCounter.increment(appointments.size());
+    }
+
+    private static String details(Appointment appointment) {
+        StringBuilder details = new StringBuilder()
+                .append(appointment.getAppointmentType())
+                .append(" with ").append(appointment.getDoctorName())
+                .append("\nWhen: ").append(appointment.getAppointmentDate().format(DATE_FORMAT));
+        if (appointment.getBaby() != null) {
+            details.append("\nFor: ").append(appointment.getBaby().getName());
+        }
+        if (appointment.getClinicName() != null) {
+            details.append("\nWhere: ").append(appointment.getClinicName());
+            if (appointment.getClinicAddress() != null) {
+                details.append(", ").append(appointment.getClinicAddress());
+            }
+        }
+        return details.toString();
+    }
+
+    /**
+     * When the appointment entered the window, or when it was booked if that was already inside it
+     */
+    private LocalDateTime dueAt(Appointment appointment) {
+        LocalDateTime dueAt = appointment.getAppointmentDate().minus(window);
+        if (appointment.getCreatedAt() != null && appointment.getCreatedAt().isAfter(dueAt)) {
+            return appointment.getCreatedAt();
+        }
+        return dueAt;
+    }
+}
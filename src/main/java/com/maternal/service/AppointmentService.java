@@ -2,6 +2,8 @@ package com.maternal.service;
 
 import com.maternal.dto.AppointmentDTO;
 import com.maternal.dto.AppointmentRequest;
+import com.maternal.dto.Cursor;
+import com.maternal.dto.CursorPage;
 import com.maternal.model.Appointment;
 import com.maternal.model.Baby;
 import com.maternal.model.User;
@@ -10,6 +12,7 @@ import com.maternal.repository.BabyRepository;
 import com.maternal.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,7 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final BabyRepository babyRepository;
+    private final DashboardReadModel dashboardReadModel;
 
     @Transactional
     public AppointmentDTO createAppointment(Long userId, AppointmentRequest request) {
@@ -53,6 +57,7 @@ public class AppointmentService {
         }
 
         appointment = appointmentRepository.save(appointment);
+        dashboardReadModel.appointmentsChanged(user.getId());
         log.info("Appointment created for user: {}", user.getEmail());
         return mapToDTO(appointment);
     }
@@ -64,11 +69,23 @@ public class AppointmentService {
         return mapToDTO(appointment);
     }
 
+    /**
+     * One keyset page of a user's appointments, newest first.
+     * The cursor holds the (appointmentDate, id) of the last row, so every page costs the same.
+     */
     @Transactional(readOnly = true)
-    public List<AppointmentDTO> getAppointmentsByUserId(Long userId) {
-        return appointmentRepository.findByUserIdOrderByAppointmentDateDesc(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<AppointmentDTO> getAppointmentsByUserId(Long userId, String cursor, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Appointment> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepository.findByUserIdOrderByAppointmentDateDescIdDesc(userId, fetchLimit);
+        } else {
+            String[] keys = Cursor.decode(cursor, 2);
+            rows = appointmentRepository.findByUserIdAfter(
+                    userId, Cursor.parseDateTime(keys[0]), Cursor.parseId(keys[1]), fetchLimit);
+        }
+        return CursorPage.of(rows.stream().map(this::mapToDTO).collect(Collectors.toList()), limit,
+                last -> Cursor.encode(last.getAppointmentDate(), last.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -96,13 +113,17 @@ public class AppointmentService {
         }
 
         appointment = appointmentRepository.save(appointment);
+        dashboardReadModel.appointmentsChanged(appointment.getUser().getId());
         log.info("Appointment updated: {}", appointment.getId());
         return mapToDTO(appointment);
     }
 
     @Transactional
     public void deleteAppointment(Long id) {
-        appointmentRepository.deleteById(id);
+        appointmentRepository.findById(id).ifPresent(appointment -> {
+            appointmentRepository.delete(appointment);
+            dashboardReadModel.appointmentsChanged(appointment.getUser().getId());
+        });
         log.info("Appointment deleted: {}", id);
     }
 
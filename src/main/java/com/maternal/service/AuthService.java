@@ -1,20 +1,31 @@
 package com.maternal.service;
 
+import com.maternal.config.ReadYourWritesTracker;
 import com.maternal.dto.*;
+import com.maternal.model.RevokedToken;
 import com.maternal.model.User;
+import com.maternal.repository.BabyRepository;
 import com.maternal.repository.UserRepository;
+import com.maternal.search.NameSearch;
 import com.maternal.security.JwtUtil;
+import com.maternal.security.TokenRevocationStore;
+import com.maternal.security.TokenVersionRegistry;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 
 /**
  * Service for authentication operations
@@ -25,29 +36,47 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final BabyRepository babyRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-
-    @Transactional
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final NameSearch nameSearch;
+    private final DashboardReadModel dashboardReadModel;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Register a new account. The password is hashed before the transaction opens, so a request
+     * waiting for a BCrypt slot does not hold a database connection.
+     */
     public AuthResponse register(RegisterRequest request) {
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail().toLowerCase())) {
-            throw new RuntimeException("Email already registered");
-        }
-
-        // Create new user
-        User user = User.builder()
-                .fullName(request.getFullName())
-                .email(request.getEmail().toLowerCase())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .phone(request.getPhone())
-                .role(determineRole(request.getRole()))
-                .isActive(true)
-                .emailVerified(false)
-                .build();
-
-        user = userRepository.save(user);
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
+        User user = transactionTemplate.execute(status -> {
+            // Check if email already exists
+            if (userRepository.existsByEmail(request.getEmail().toLowerCase())) {
+                throw new RuntimeException("Email already registered");
+            }
+
+            // Create new user
+            User created = userRepository.save(User.builder()
+                    .fullName(request.getFullName())
+                    .email(request.getEmail().toLowerCase())
+                    .password(passwordHash)
+                    .phone(request.getPhone())
+                    .role(determineRole(request.getRole()))
+                    .isActive(true)
+                    .emailVerified(false)
+                    .build());
+            nameSearch.userChanged(created.getId(), created.getFullName(), created.getEmail());
+            dashboardReadModel.parentRegistered(created.getId());
+            return created;
+        });
+        // The new account is not on the replica yet; keep its first reads on the primary
+        readYourWritesTracker.recordWrite(user.getId());
         log.info("New user registered: {}", user.getEmail());
 
         // Generate tokens
@@ -63,7 +92,11 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
+    /**
+     * Authenticate and issue tokens. Not transactional: the user lookup runs in its own short
+     * transaction, and the password check that follows may wait for a BCrypt slot without
+     * holding a database connection.
+     */
     public AuthResponse login(LoginRequest request) {
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
@@ -76,9 +109,10 @@ public class AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User user = (User) authentication.getPrincipal();
 
-        // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Record last login; written to the database in batches by the write-behind flush
+        LocalDateTime loginTime = LocalDateTime.now();
+        user.setLastLogin(loginTime);
+        lastLoginWriteBehind.record(user.getId(), loginTime);
 
         log.info("User logged in: {}", user.getEmail());
 
@@ -95,6 +129,69 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token.
+     * Each refresh token can be used once; presenting a used one revokes its whole family
+     * and every token issued to the user, since it means the token was copied.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        Claims claims = jwtUtil.validateAndExtractClaims(request.getRefreshToken());
+        if (claims == null || !jwtUtil.isRefreshToken(claims) || claims.getId() == null) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        String familyId = claims.get(JwtUtil.CLAIM_TOKEN_FAMILY, String.class);
+        if (familyId == null || tokenRevocationStore.isRevoked(familyId)) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+
+        User user = userRepository.findByEmail(claims.getSubject())
+                .filter(User::getIsActive)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (!tokenRevocationStore.revokeIfActive(claims.getId(), RevokedToken.TokenType.REFRESH,
+                user.getId(), toLocalDateTime(claims.getExpiration()))) {
+            log.warn("Refresh token reuse detected for user: {}", user.getEmail());
+            tokenRevocationStore.revoke(familyId, RevokedToken.TokenType.REFRESH_FAMILY, user.getId(),
+                    LocalDateTime.now().plusNanos(jwtUtil.getRefreshExpiration() * 1_000_000));
+            tokenVersionRegistry.revokeAll(user.getId());
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+
+        String token = jwtUtil.generateToken(user);
+        String refreshToken = jwtUtil.generateRefreshToken(user, familyId);
+
+        return AuthResponse.builder()
+                .token(token)
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(86400000L)
+                .user(mapToUserDTO(user))
+                .build();
+    }
+
+    /**
+     * Revoke the presented access token and, when given, the refresh token family
+     */
+    public void logout(String accessToken, String refreshToken) {
+        Claims accessClaims = accessToken != null ? jwtUtil.validateAndExtractClaims(accessToken) : null;
+        if (accessClaims != null && accessClaims.getId() != null && !jwtUtil.isRefreshToken(accessClaims)) {
+            tokenRevocationStore.revoke(accessClaims.getId(), RevokedToken.TokenType.ACCESS,
+                    accessClaims.get(JwtUtil.CLAIM_USER_ID, Long.class), toLocalDateTime(accessClaims.getExpiration()));
+        }
+
+        Claims refreshClaims = refreshToken != null ? jwtUtil.validateAndExtractClaims(refreshToken) : null;
+        if (refreshClaims != null && jwtUtil.isRefreshToken(refreshClaims)) {
+            String familyId = refreshClaims.get(JwtUtil.CLAIM_TOKEN_FAMILY, String.class);
+            if (familyId != null) {
+                tokenRevocationStore.revoke(familyId, RevokedToken.TokenType.REFRESH_FAMILY,
+                        refreshClaims.get(JwtUtil.CLAIM_USER_ID, Long.class),
+                        LocalDateTime.now().plusNanos(jwtUtil.getRefreshExpiration() * 1_000_000));
+            }
+        }
+    }
+
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -114,6 +211,10 @@ public class AuthService {
         }
     }
 
+    private LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
     private UserDTO mapToUserDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
@@ -131,7 +232,7 @@ public class AuthService {
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .lastLogin(user.getLastLogin())
-                .babiesCount(user.getBabiesCount())
+                .babiesCount(user.getId() != null ? (int) babyRepository.countByParentId(user.getId()) : 0)
                 .build();
     }
 }
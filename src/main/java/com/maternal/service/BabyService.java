@@ -2,16 +2,25 @@ package com.maternal.service;
 
 import com.maternal.dto.BabyDTO;
 import com.maternal.dto.BabyRequest;
+import com.maternal.dto.Cursor;
+import com.maternal.dto.CursorPage;
+import com.maternal.dto.VaccinationProgress;
 import com.maternal.model.Baby;
 import com.maternal.model.User;
 import com.maternal.repository.BabyRepository;
 import com.maternal.repository.UserRepository;
+import com.maternal.repository.VaccinationRepository;
+import com.maternal.search.NameSearch;
+import com.maternal.search.SearchHit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +33,9 @@ public class BabyService {
 
     private final BabyRepository babyRepository;
     private final UserRepository userRepository;
+    private final VaccinationRepository vaccinationRepository;
+    private final NameSearch nameSearch;
+    private final DashboardReadModel dashboardReadModel;
 
     @Transactional
     public BabyDTO createBaby(Long parentId, BabyRequest request) {
@@ -45,8 +57,10 @@ public class BabyService {
                 .build();
 
         baby = babyRepository.save(baby);
+        nameSearch.babyChanged(baby.getId(), baby.getName(), true);
+        dashboardReadModel.babyChanged(baby);
         log.info("New baby created: {} for parent: {}", baby.getName(), parent.getEmail());
-        return mapToDTO(baby);
+        return mapToDTO(baby, VaccinationProgress.empty(baby.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -63,11 +77,35 @@ public class BabyService {
         return mapToDTO(baby);
     }
 
+    /**
+     * One keyset page of a parent's active babies, ordered by id
+     */
     @Transactional(readOnly = true)
-    public List<BabyDTO> getBabiesByParentId(Long parentId) {
-        return babyRepository.findByParentIdAndIsActiveTrue(parentId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<BabyDTO> getBabiesByParentId(Long parentId, String cursor, int limit) {
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : Cursor.decodeId(cursor);
+        List<Baby> rows = babyRepository.findByParentIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                parentId, afterId, Limit.of(limit + 1));
+        return CursorPage.of(mapToDTOs(rows), limit, last -> Cursor.encode(last.getId()));
+    }
+
+    /**
+     * One page of active babies ranked by name similarity to the query
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BabyDTO> searchBabies(String query, String cursor, int limit) {
+        SearchHit after = cursor == null || cursor.isBlank() ? null : SearchHit.fromCursor(cursor);
+        List<SearchHit> hits = nameSearch.searchBabies(query, after, limit + 1);
+        String nextCursor = hits.size() > limit ? hits.get(limit - 1).toCursor() : null;
+        hits = hits.subList(0, Math.min(limit, hits.size()));
+
+        Map<Long, Baby> babiesById = babyRepository.findAllById(hits.stream().map(SearchHit::getId).toList()).stream()
+                .collect(Collectors.toMap(Baby::getId, Function.identity()));
+        // The index may briefly lag a deactivation made on another node
+        List<Baby> ranked = hits.stream()
+                .map(hit -> babiesById.get(hit.getId()))
+                .filter(baby -> baby != null && Boolean.TRUE.equals(baby.getIsActive()))
+                .toList();
+        return new CursorPage<>(mapToDTOs(ranked), nextCursor);
     }
 
     @Transactional
@@ -85,6 +123,8 @@ public class BabyService {
         baby.setNotes(request.getNotes());
 
         baby = babyRepository.save(baby);
+        nameSearch.babyChanged(baby.getId(), baby.getName(), baby.getIsActive());
+        dashboardReadModel.babyChanged(baby);
         log.info("Baby updated: {}", baby.getName());
         return mapToDTO(baby);
     }
@@ -95,10 +135,34 @@ public class BabyService {
                 .orElseThrow(() -> new RuntimeException("Baby not found with id: " + id));
         baby.setIsActive(false);
         babyRepository.save(baby);
+        nameSearch.babyChanged(baby.getId(), baby.getName(), false);
+        dashboardReadModel.babyChanged(baby);
         log.info("Baby deactivated: {}", baby.getName());
     }
 
     private BabyDTO mapToDTO(Baby baby) {
+        VaccinationProgress progress = vaccinationRepository.findProgressByBabyIds(List.of(baby.getId())).stream()
+                .findFirst()
+                .orElseGet(() -> VaccinationProgress.empty(baby.getId()));
+        return mapToDTO(baby, progress);
+    }
+
+    /**
+     * Map a list of babies with one grouped progress query for all of them
+     */
+    private List<BabyDTO> mapToDTOs(List<Baby> babies) {
+        if (babies.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, VaccinationProgress> progressByBaby = vaccinationRepository
+                .findProgressByBabyIds(babies.stream().map(Baby::getId).toList()).stream()
+                .collect(Collectors.toMap(VaccinationProgress::getBabyId, Function.identity()));
+        return babies.stream()
+                .map(baby -> mapToDTO(baby, progressByBaby.getOrDefault(baby.getId(), VaccinationProgress.empty(baby.getId()))))
+                .collect(Collectors.toList());
+    }
+
+    private BabyDTO mapToDTO(Baby baby, VaccinationProgress progress) {
         return BabyDTO.builder()
                 .id(baby.getId())
                 .name(baby.getName())
@@ -116,7 +180,7 @@ public class BabyService {
                 .updatedAt(baby.getUpdatedAt())
                 .ageInDays(baby.getAgeInDays())
                 .ageInMonths(baby.getAgeInMonths())
-                .vaccinationProgress(baby.getVaccinationProgress())
+                .vaccinationProgress(progress.toMap())
                 .build();
     }
 }
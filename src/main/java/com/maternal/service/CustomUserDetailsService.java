@@ -2,35 +2,92 @@ package com.maternal.service;
 
 import com.maternal.model.User;
 import com.maternal.repository.UserRepository;
+import com.maternal.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom UserDetailsService implementation for Spring Security
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
+    /**
+     * Look up the user for a password login. Runs in a read-write transaction so it is served by the
+     * primary: a user who has just registered, or been deactivated, may not be on the replica yet.
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        
+
         if (!user.getIsActive()) {
             throw new UsernameNotFoundException("User account is inactive");
         }
-        
+
         return user;
     }
 
+    /**
+     * Store a re-hashed password after a successful login with an outdated BCrypt cost.
+     * Runs in its own transaction, after the user lookup's transaction has ended.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        log.info("Password hash upgraded for user: {}", user.getUsername());
+        return user;
+    }
+
+    /**
+     * Load the principal for a token-authenticated request, served from the principal cache when possible
+     */
+    public UserDetails loadPrincipal(String email) {
+        return principalCache.get(email, key -> toPrincipal((User) loadUserByUsername(key)));
+    }
+
     public User loadUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
     }
+
+    /**
+     * Copy of the user without credentials or lazy collections, safe to share between requests
+     */
+    private User toPrincipal(User user) {
+        return User.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .phone(user.getPhone())
+                .dateOfBirth(user.getDateOfBirth())
+                .address(user.getAddress())
+                .emergencyContact(user.getEmergencyContact())
+                .emergencyPhone(user.getEmergencyPhone())
+                .isActive(user.getIsActive())
+                .emailVerified(user.getEmailVerified())
+                .profilePicture(user.getProfilePicture())
+                .lastLogin(user.getLastLogin())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,243 @@
+package com.maternal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maternal.dto.DashboardDTO.AppointmentSummary;
+import com.maternal.dto.DashboardDTO.VaccinationSummary;
+import com.maternal.model.Appointment;
+import com.maternal.model.Baby;
+import com.maternal.model.ParentDashboard;
+import com.maternal.model.Vaccination;
+import com.maternal.repository.AppointmentRepository;
+import com.maternal.repository.BabyRepository;
+import com.maternal.repository.ParentDashboardRepository;
+import com.maternal.repository.VaccinationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Write side of the parent dashboard.
+ * Each parent has one stored document holding their active babies with every scheduled
+ * vaccination, and their next scheduled appointments. The services call in from their own
+ * transactions, so the document commits together with the change it reflects; each call locks
+ * the parent's row and replaces only the part that changed. Anything that depends on today's
+ * date (ages, overdue versus upcoming) is worked out when the dashboard is read.
+ */
+@Service
+@Slf4j
+public class DashboardReadModel {
+
+    private static final String SCHEDULED = "SCHEDULED";
+
+    private final ParentDashboardRepository dashboardRepository;
+    private final BabyRepository babyRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final VaccinationRepository vaccinationRepository;
+    private final ObjectMapper objectMapper;
+    private final int storedAppointments;
+
+    public DashboardReadModel(
+            ParentDashboardRepository dashboardRepository,
+            BabyRepository babyRepository,
+            AppointmentRepository appointmentRepository,
+            VaccinationRepository vaccinationRepository,
+            ObjectMapper objectMapper,
+            @Value("${dashboard.appointments:5}") int shownAppointments
+    ) {
+        this.dashboardRepository = dashboardRepository;
+        this.babyRepository = babyRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.vaccinationRepository = vaccinationRepository;
+        this.objectMapper = objectMapper;
+        // Keep some spare so the list rarely has to be reloaded as appointments pass
+        this.storedAppointments = shownAppointments * 2;
+    }
+
+    /**
+     * Create the empty row for a new account, built on its first dashboard request
+     */
+    @Transactional
+    public void parentRegistered(Long parentId) {
+        dashboardRepository.save(ParentDashboard.builder()
+                .parentId(parentId)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Add, replace or drop a baby's entry after it was created, edited or deactivated
+     */
+    @Transactional
+    public void babyChanged(Baby baby) {
+        update(baby.getParent().getId(), document -> {
+            List<BabyEntry> babies = new ArrayList<>(document.babies());
+            BabyEntry existing = babies.stream().filter(entry -> entry.id().equals(baby.getId())).findFirst().orElse(null);
+            babies.remove(existing);
+            if (Boolean.TRUE.equals(baby.getIsActive())) {
+                babies.add(toEntry(baby, existing != null ? existing.scheduledVaccinations() : List.of()));
+                babies.sort(Comparator.comparing(BabyEntry::id));
+            }
+            return new Document(babies, document.appointments(), document.allAppointments());
+        });
+    }
+
+    /**
+     * Reload a user's next appointments after one of theirs was created, edited or deleted
+     */
+    @Transactional
+    public void appointmentsChanged(Long userId) {
+        update(userId, document -> withAppointments(document, userId));
+    }
+
+    /**
+     * Reload a baby's scheduled vaccinations after any of them changed
+     */
+    @Transactional
+    public void vaccinationsChanged(Long babyId) {
+        Baby baby = babyRepository.findById(babyId).orElse(null);
+        if (baby == null) {
+            return;
+        }
+        update(baby.getParent().getId(), document -> {
+            Map<Long, List<VaccinationSummary>> scheduled = loadScheduledVaccinations(List.of(babyId));
+            List<BabyEntry> babies = document.babies().stream()
+                    .map(entry -> entry.id().equals(babyId)
+                            ? entry.withScheduledVaccinations(scheduled.getOrDefault(babyId, List.of()))
+                            : entry)
+                    .toList();
+            return new Document(babies, document.appointments(), document.allAppointments());
+        });
+    }
+
+    /**
+     * Build the parent's document from scratch unless another request already has
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent request
+     *         inserted the row first; calling again then returns that row
+     */
+    @Transactional
+    public ParentDashboard rebuild(Long parentId) {
+        ParentDashboard dashboard = dashboardRepository.findForUpdate(parentId).orElse(null);
+        if (dashboard != null && dashboard.getDocument() != null) {
+            return dashboard;
+        }
+        if (dashboard == null) {
+            dashboard = ParentDashboard.builder().parentId(parentId).build();
+        }
+
+        List<Baby> babies = babyRepository.findByParentIdAndIsActiveTrue(parentId);
+        Map<Long, List<VaccinationSummary>> scheduled = babies.isEmpty() ? Map.of()
+                : loadScheduledVaccinations(babies.stream().map(Baby::getId).toList());
+        List<BabyEntry> entries = babies.stream()
+                .sorted(Comparator.comparing(Baby::getId))
+                .map(baby -> toEntry(baby, scheduled.getOrDefault(baby.getId(), List.of())))
+                .toList();
+        Document document = withAppointments(new Document(entries, List.of(), true), parentId);
+
+        log.debug("Dashboard built for parent {}", parentId);
+        return write(dashboard, document);
+    }
+
+    /**
+     * Reload the next appointments once enough of the stored ones have passed
+     */
+    @Transactional
+    public ParentDashboard refreshAppointments(Long parentId) {
+        ParentDashboard dashboard = dashboardRepository.findForUpdate(parentId).orElse(null);
+        if (dashboard == null || dashboard.getDocument() == null) {
+            return rebuild(parentId);
+        }
+        return write(dashboard, withAppointments(read(dashboard.getDocument()), parentId));
+    }
+
+    Document read(String json) {
+        try {
+            return objectMapper.readValue(json, Document.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable dashboard document", e);
+        }
+    }
+
+    /**
+     * Apply a change to a built document; unbuilt documents are left for the first read to build
+     */
+    private void update(Long parentId, UnaryOperator<Document> change) {
+        dashboardRepository.findForUpdate(parentId)
+                .filter(dashboard -> dashboard.getDocument() != null)
+                .ifPresent(dashboard -> write(dashboard, change.apply(read(dashboard.getDocument()))));
+    }
+
+    private ParentDashboard write(ParentDashboard dashboard, Document document) {
+        try {
+            dashboard.setDocument(objectMapper.writeValueAsString(document));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write dashboard document", e);
+        }
+        dashboard.setUpdatedAt(LocalDateTime.now());
+        return dashboardRepository.save(dashboard);
+    }
+
+    private Document withAppointments(Document document, Long userId) {
+        List<Appointment> rows = appointmentRepository.findByUserIdAndStatusAndAppointmentDateAfterOrderByAppointmentDateAsc(
+                userId, Appointment.AppointmentStatus.SCHEDULED, LocalDateTime.now(), Limit.of(storedAppointments + 1));
+        List<AppointmentSummary> appointments = rows.stream()
+                .limit(storedAppointments)
+                .map(appointment -> AppointmentSummary.builder()
+                        .id(appointment.getId())
+                        .babyId(appointment.getBaby() != null ? appointment.getBaby().getId() : null)
+                        .appointmentType(appointment.getAppointmentType())
+                        .appointmentDate(appointment.getAppointmentDate())
+                        .doctorName(appointment.getDoctorName())
+                        .clinicName(appointment.getClinicName())
+                        .build())
+                .toList();
+        return new Document(document.babies(), appointments, rows.size() <= storedAppointments);
+    }
+
+    private Map<Long, List<VaccinationSummary>> loadScheduledVaccinations(Collection<Long> babyIds) {
+        return vaccinationRepository.findByBabyIdInAndStatusOrderByScheduledDateAsc(babyIds, SCHEDULED).stream()
+                .collect(Collectors.groupingBy(vaccination -> vaccination.getBaby().getId(),
+                        Collectors.mapping(DashboardReadModel::toSummary, Collectors.toList())));
+    }
+
+    private static VaccinationSummary toSummary(Vaccination vaccination) {
+        return VaccinationSummary.builder()
+                .id(vaccination.getId())
+                .vaccineName(vaccination.getVaccineName())
+                .scheduledDate(vaccination.getScheduledDate())
+                .build();
+    }
+
+    private static BabyEntry toEntry(Baby baby, List<VaccinationSummary> scheduledVaccinations) {
+        return new BabyEntry(baby.getId(), baby.getName(), baby.getUniqueId(), baby.getGender(),
+                baby.getBirthDate(), baby.getPhotoUrl(), scheduledVaccinations);
+    }
+
+    /**
+     * Stored form of a dashboard. allAppointments is false when more scheduled appointments
+     * exist than were stored.
+     */
+    record Document(List<BabyEntry> babies, List<AppointmentSummary> appointments, boolean allAppointments) {
+    }
+
+    record BabyEntry(Long id, String name, String uniqueId, String gender, LocalDate birthDate,
+                     String photoUrl, List<VaccinationSummary> scheduledVaccinations) {
+
+        BabyEntry withScheduledVaccinations(List<VaccinationSummary> vaccinations) {
+            return new BabyEntry(id, name, uniqueId, gender, birthDate, photoUrl, vaccinations);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.maternal.service;
+
+import com.maternal.dto.DashboardDTO;
+import com.maternal.dto.DashboardDTO.AppointmentSummary;
+import com.maternal.dto.DashboardDTO.VaccinationSummary;
+import com.maternal.model.ParentDashboard;
+import com.maternal.repository.ParentDashboardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Read side of the parent dashboard: one primary-key lookup of the stored document,
+ * which is then filtered against the current date
+ */
+@Service
+public class DashboardService {
+
+    private final ParentDashboardRepository dashboardRepository;
+    private final DashboardReadModel readModel;
+    private final int shownAppointments;
+    private final int shownUpcomingVaccinations;
+
+    public DashboardService(
+            ParentDashboardRepository dashboardRepository,
+            DashboardReadModel readModel,
+            @Value("${dashboard.appointments:5}") int shownAppointments,
+            @Value("${dashboard.upcoming-vaccinations:3}") int shownUpcomingVaccinations
+    ) {
+        this.dashboardRepository = dashboardRepository;
+        this.readModel = readModel;
+        this.shownAppointments = shownAppointments;
+        this.shownUpcomingVaccinations = shownUpcomingVaccinations;
+    }
+
+    /**
+     * Not transactional itself: the lookup runs read-only, and the rare build or refresh
+     * needs its own read-write transaction on the primary.
+     */
+    public DashboardDTO getDashboard(Long parentId) {
+        LocalDateTime now = LocalDateTime.now();
+        ParentDashboard dashboard = dashboardRepository.findById(parentId)
+                .filter(stored -> stored.getDocument() != null)
+                .orElseGet(() -> build(parentId));
+        DashboardReadModel.Document document = readModel.read(dashboard.getDocument());
+
+        List<AppointmentSummary> nextAppointments = upcoming(document, now);
+        if (nextAppointments.size() < shownAppointments && !document.allAppointments()) {
+            dashboard = readModel.refreshAppointments(parentId);
+            document = readModel.read(dashboard.getDocument());
+            nextAppointments = upcoming(document, now);
+        }
+
+        LocalDate today = now.toLocalDate();
+        return DashboardDTO.builder()
+                .babies(document.babies().stream().map(baby -> toSummary(baby, today)).toList())
+                .nextAppointments(nextAppointments)
+                .updatedAt(dashboard.getUpdatedAt())
+                .build();
+    }
+
+    private ParentDashboard build(Long parentId) {
+        try {
+            return readModel.rebuild(parentId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created the row first and has built it
+            return readModel.rebuild(parentId);
+        }
+    }
+
+    private List<AppointmentSummary> upcoming(DashboardReadModel.Document document, LocalDateTime now) {
+        return document.appointments().stream()
+                .filter(appointment -> appointment.getAppointmentDate().isAfter(now))
+                .limit(shownAppointments)
+                .toList();
+    }
+
+    private DashboardDTO.BabySummary toSummary(DashboardReadModel.BabyEntry baby, LocalDate today) {
+        long ageInDays = baby.birthDate() != null ? ChronoUnit.DAYS.between(baby.birthDate(), today) : 0;
+        List<VaccinationSummary> vaccinations = baby.scheduledVaccinations();
+        return DashboardDTO.BabySummary.builder()
+                .id(baby.id())
+                .name(baby.name())
+                .uniqueId(baby.uniqueId())
+                .gender(baby.gender())
+                .birthDate(baby.birthDate())
+                .photoUrl(baby.photoUrl())
+                .ageInDays(ageInDays)
+                .ageInMonths(ageInDays / 30)
+                .overdueVaccinations(vaccinations.stream()
+                        .filter(vaccination -> vaccination.getScheduledDate().isBefore(today))
+                        .toList())
+                .upcomingVaccinations(vaccinations.stream()
+                        .filter(vaccination -> !vaccination.getScheduledDate().isBefore(today))
+                        .limit(shownUpcomingVaccinations)
+                        .toList())
+                .build();
+    }
+}
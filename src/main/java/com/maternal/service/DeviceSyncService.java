@@ -0,0 +1,303 @@
+package com.maternal.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maternal.dto.SyncRecord;
+import com.maternal.dto.SyncResult;
+import com.maternal.model.Baby;
+import com.maternal.model.GrowthRecord;
+import com.maternal.model.NutritionRecord;
+import com.maternal.model.WeightEntry;
+import com.maternal.repository.BabyRepository;
+import com.maternal.repository.GrowthRecordRepository;
+import com.maternal.repository.NutritionRecordRepository;
+import com.maternal.repository.UserRepository;
+import com.maternal.repository.WeightEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk ingestion of readings queued offline by the mobile app.
+ * The upload is a JSON array read one element at a time, and results are streamed back as each
+ * chunk commits, so memory stays bounded by the chunk size however large the upload is.
+ * Each chunk is one transaction, flushed in JDBC-batch-sized groups; if a chunk fails,
+ * its records are retried one per transaction so a single bad row does not sink the rest.
+ * The 200 status is sent with the first chunk of results, so no failure after that may escape:
+ * a record that cannot be saved is reported as FAILED, and anything that stops the upload early
+ * ends the document with success false and the index of the first record not processed.
+ */
+@Service
+@Slf4j
+public class DeviceSyncService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BabyRepository babyRepository;
+    private final UserRepository userRepository;
+    private final GrowthRecordRepository growthRecordRepository;
+    private final NutritionRecordRepository nutritionRecordRepository;
+    private final WeightEntryRepository weightEntryRepository;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public DeviceSyncService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            BabyRepository babyRepository,
+            UserRepository userRepository,
+            GrowthRecordRepository growthRecordRepository,
+            NutritionRecordRepository nutritionRecordRepository,
+            WeightEntryRepository weightEntryRepository,
+            @Value("${sync.chunk-size:500}") int chunkSize,
+            @Value("${sync.batch-size:50}") int batchSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.babyRepository = babyRepository;
+        this.userRepository = userRepository;
+        this.growthRecordRepository = growthRecordRepository;
+        this.nutritionRecordRepository = nutritionRecordRepository;
+        this.weightEntryRepository = weightEntryRepository;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Ingest an upload and write the response document to {@code out}:
+     * {@code {"data":[results...],"success":...,"message":...}}
+     *
+     * @throws IllegalArgumentException if the body is not a JSON array; nothing has been written then
+     */
+    public void ingest(Long userId, InputStream body, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            ingest(userId, parser, out);
+        }
+    }
+
+    private void ingest(Long userId, JsonParser parser, OutputStream out) throws IOException {
+        JsonToken first;
+        try {
+            first = parser.nextToken();
+        } catch (JsonProcessingException e) {
+            first = null;
+        }
+        if (first != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Request body must be a JSON array of records");
+        }
+
+        Set<Long> babyIds = babyRepository.findByParentIdAndIsActiveTrue(userId).stream()
+                .map(Baby::getId)
+                .collect(Collectors.toSet());
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+
+            Counts counts = new Counts();
+            List<Pending> chunk = new ArrayList<>(chunkSize);
+            List<SyncResult> results = new ArrayList<>(chunkSize);
+            String stopReason = null;
+            int index = 0;
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == null) {
+                        throw new IllegalArgumentException("Unexpected end of input");
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    SyncResult rejection;
+                    try {
+                        rejection = accept(index, node, babyIds, chunk);
+                    } catch (RuntimeException e) {
+                        log.warn("Device sync record {} could not be checked for user {}: {}", index, userId, e.getMessage());
+                        rejection = SyncResult.failed(index, null, "Could not be processed");
+                    }
+                    if (rejection != null) {
+                        results.add(rejection);
+                    }
+                    index++;
+                    if (chunk.size() == chunkSize || results.size() >= chunkSize) {
+                        persistChunk(userId, chunk, results);
+                        writeResults(generator, results, counts);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // The rest of the body is unreadable; keep what was parsed before the error
+                stopReason = "Malformed upload at record " + index + ": " + e.getOriginalMessage();
+            } catch (IllegalArgumentException e) {
+                stopReason = "Malformed upload at record " + index + ": " + e.getMessage();
+            } catch (RuntimeException e) {
+                log.error("Device sync for user {} stopped at record {}", userId, index, e);
+                stopReason = "Upload stopped at record " + index + " by a server error; resend from there";
+            }
+            persistChunk(userId, chunk, results);
+            writeResults(generator, results, counts);
+
+            generator.writeEndArray();
+            generator.writeBooleanField("success", stopReason == null);
+            generator.writeStringField("message", stopReason != null ? stopReason
+                    : String.format("Processed %d records: %d created, %d rejected, %d failed",
+                            index, counts.created, counts.rejected, counts.failed));
+            generator.writeEndObject();
+
+            log.info("Device sync for user {}: {} created, {} rejected, {} failed",
+                    userId, counts.created, counts.rejected, counts.failed);
+        }
+    }
+
+    /**
+     * Validate one element and queue it for the current chunk
+     *
+     * @return the rejection, or null if the record was queued
+     */
+    private SyncResult accept(int index, JsonNode node, Set<Long> babyIds, List<Pending> chunk) {
+        String clientId = node.path("clientId").isTextual() ? node.path("clientId").asText() : null;
+        SyncRecord record;
+        try {
+            record = objectMapper.treeToValue(node, SyncRecord.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return SyncResult.rejected(index, clientId, Map.of("record", "Unreadable record"));
+        }
+        if (record.getType() == null) {
+            return SyncResult.rejected(index, clientId, Map.of("type", "Type is required (GROWTH, NUTRITION or WEIGHT)"));
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<SyncRecord> violation : validator.validate(record, record.getType().getValidationGroup())) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (record.getBabyId() != null && record.getType() != SyncRecord.RecordType.WEIGHT
+                && !babyIds.contains(record.getBabyId())) {
+            errors.putIfAbsent("babyId", "Baby not found");
+        }
+        if (!errors.isEmpty()) {
+            return SyncResult.rejected(index, clientId, errors);
+        }
+
+        chunk.add(new Pending(index, record));
+        return null;
+    }
+
+    /**
+     * Write a chunk in one transaction, or record by record if the chunk fails
+     */
+    private void persistChunk(Long userId, List<Pending> chunk, List<SyncResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> saved = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    saved.add(save(userId, chunk.get(i).record()));
+                    if ((i + 1) % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                return saved;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(SyncResult.created(chunk.get(i).index(), chunk.get(i).record().getClientId(), ids.get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Device sync chunk failed for user {}, retrying record by record: {}", userId, e.getMessage());
+            for (Pending pending : chunk) {
+                try {
+                    Long id = transactionTemplate.execute(status -> save(userId, pending.record()));
+                    results.add(SyncResult.created(pending.index(), pending.record().getClientId(), id));
+                } catch (RuntimeException recordFailure) {
+                    log.warn("Device sync record {} failed for user {}: {}", pending.index(), userId, recordFailure.getMessage());
+                    results.add(SyncResult.failed(pending.index(), pending.record().getClientId(), "Could not be saved"));
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private Long save(Long userId, SyncRecord record) {
+        return switch (record.getType()) {
+            case GROWTH -> growthRecordRepository.save(GrowthRecord.builder()
+                    .recordDate(record.getRecordDate())
+                    .weight(record.getWeight())
+                    .height(record.getHeight())
+                    .headCircumference(record.getHeadCircumference())
+                    .ageInMonths(record.getAgeInMonths())
+                    .notes(record.getNotes())
+                    .baby(babyRepository.getReferenceById(record.getBabyId()))
+                    .build()).getId();
+            case NUTRITION -> nutritionRecordRepository.save(NutritionRecord.builder()
+                    .recordDate(record.getRecordDate())
+                    .feedingType(record.getFeedingType())
+                    .mealType(record.getMealType())
+                    .foodItems(record.getFoodItems())
+                    .quantity(record.getQuantity())
+                    .notes(record.getNotes())
+                    .baby(babyRepository.getReferenceById(record.getBabyId()))
+                    .build()).getId();
+            case WEIGHT -> {
+                WeightEntry entry = WeightEntry.builder()
+                        .date(record.getRecordDate())
+                        .weight(record.getWeight())
+                        .height(record.getHeight())
+                        .pregnancyWeek(record.getPregnancyWeek())
+                        .prePregnancyWeight(record.getPrePregnancyWeight())
+                        .notes(record.getNotes())
+                        .user(userRepository.getReferenceById(userId))
+                        .build();
+                entry.calculateBmi();
+                entry.calculateWeightGain();
+                yield weightEntryRepository.save(entry).getId();
+            }
+        };
+    }
+
+    private void writeResults(JsonGenerator generator, List<SyncResult> results, Counts counts) throws IOException {
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        for (SyncResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> counts.created++;
+                case REJECTED -> counts.rejected++;
+                case FAILED -> counts.failed++;
+            }
+            generator.writeObject(result);
+        }
+        results.clear();
+        generator.flush();
+    }
+
+    private record Pending(int index, SyncRecord record) {
+    }
+
+    private static class Counts {
+        int created;
+        int rejected;
+        int failed;
+    }
+}
@@ -0,0 +1,290 @@
+package com.maternal.service;
+
+import com.maternal.cluster.ClusterJob;
+import com.maternal.model.OutboxEmail;
+import com.maternal.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Delivers emails from the outbox.
+ * A worker claims a batch of due emails with FOR UPDATE SKIP LOCKED and leases them (the next
+ * attempt moves past the lease), commits, then sends the whole batch over one SMTP connection
+ * and records the outcome in a second transaction. Failed emails are retried with exponential
+ * backoff until mail.outbox.max-attempts; a worker that dies mid-batch leaves its emails to be
+ * picked up again once the lease runs out, so delivery is at-least-once. When a poll finds a
+ * full batch, the backlog is drained by mail.max-concurrent-sends workers, one connection each.
+ */
+@Service
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryTimer;
+
+    public EmailOutboxDispatcher(
+            OutboxEmailRepository outboxEmailRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${mail.max-concurrent-sends:4}") int workerCount,
+            @Value("${mail.outbox.batch-size:50}") int batchSize,
+            @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${mail.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+            @Value("${mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${mail.outbox.retention-days:7}") long retentionDays,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentCounter = Counter.builder("mail.outbox.sent")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.outbox.retried")
+                .description("Failed sends scheduled for another attempt")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed")
+                .description("Emails given up on after the last attempt")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.outbox.delivery")
+                .description("Time from an email being queued to it being accepted by the SMTP server")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting in the outbox, as of the last poll")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (deliverBatch().hasMore(batchSize)) {
+            // A backlog: drain it with every worker
+            CompletableFuture.allOf(IntStream.range(0, workerCount)
+                    .mapToObj(i -> CompletableFuture.runAsync(this::drain, workers))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+        pending.set(outboxEmailRepository.countByStatus(OutboxEmail.Status.PENDING));
+    }
+
+    @Scheduled(cron = "${mail.outbox.purge-cron:0 45 3 * * *}")
+    @ClusterJob(name = "email-outbox-purge")
+    public void purgeSent() {
+        int deleted = outboxEmailRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        log.info("Purged {} delivered emails from the outbox", deleted);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (deliverBatch().hasMore(batchSize)) {
+                // keep going while batches come back full
+            }
+        } catch (Exception e) {
+            log.error("Outbox worker stopped", e);
+        }
+    }
+
+    private BatchResult deliverBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> batch = transactionTemplate.execute(status -> {
+            List<OutboxEmail> claimed = outboxEmailRepository.findDue(now, Limit.of(batchSize));
+            if (!claimed.isEmpty()) {
+                outboxEmailRepository.lease(claimed.stream().map(OutboxEmail::getId).toList(), now.plus(lease));
+            }
+            return claimed;
+        });
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Map<Long, Exception> failed = new HashMap<>();
+        List<OutboxEmail> prepared = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            try {
+                messages.add(toMessage(email));
+                prepared.add(email);
+            } catch (MessagingException e) {
+                failed.put(email.getId(), e);
+            }
+        }
+        Map<Object, Exception> failures = messages.isEmpty() ? Map.of() : send(messages.toArray(MimeMessage[]::new));
+        LocalDateTime sentAt = LocalDateTime.now();
+
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxEmail email = prepared.get(i);
+            Exception failure = failures.get(messages.get(i));
+            if (failure != null) {
+                failed.put(email.getId(), failure);
+            } else {
+                sentIds.add(email.getId());
+                deliveryTimer.record(Duration.between(email.getCreatedAt(), sentAt));
+            }
+        }
+        AtomicInteger givenUp = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxEmailRepository.markSent(sentIds, sentAt);
+            }
+            if (!failed.isEmpty()) {
+                outboxEmailRepository.findAllById(failed.keySet()).forEach(email -> {
+                    if (!scheduleRetry(email, failed.get(email.getId()), sentAt)) {
+                        givenUp.incrementAndGet();
+                    }
+                });
+            }
+        });
+        if (!failed.isEmpty()) {
+            log.warn("{} of {} emails not sent: {}", failed.size(), batch.size(), failed.values().iterator().next().getMessage());
+        }
+        if (givenUp.get() > 0) {
+            log.error("Gave up on {} emails after {} attempts; they are kept in the outbox as FAILED", givenUp.get(), maxAttempts);
+        }
+        sentCounter.increment(sentIds.size());
+        return new BatchResult(batch.size(), sentIds.size());
+    }
+
+    /**
+     * Send the messages over one connection
+     *
+     * @return the messages that were not accepted, with the reason
+     */
+    private Map<Object, Exception> send(MimeMessage[] messages) {
+        try {
+            mailSender.send(messages);
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return allFailed(messages, e);
+        } catch (MailException e) {
+            return allFailed(messages, e);
+        }
+    }
+
+    /**
+     * @return false if the email is out of attempts and was marked FAILED
+     */
+    private boolean scheduleRetry(OutboxEmail email, Exception cause, LocalDateTime now) {
+        String error = String.valueOf(cause.getMessage());
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        // The lease already counted this attempt
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(OutboxEmail.Status.FAILED);
+            failedCounter.increment();
+            return false;
+        }
+        email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+        retriedCounter.increment();
+        return true;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Map<Object, Exception> allFailed(MimeMessage[] messages, Exception cause) {
+        Map<Object, Exception> failures = new HashMap<>();
+        for (MimeMessage message : messages) {
+            failures.put(message, cause);
+        }
+        return failures;
+    }
+
+    /**
+     * Plain text, or multipart/alternative when the email has an HTML body
+     */
+    private MimeMessage toMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.getHtmlBody() != null, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        if (email.getHtmlBody() != null) {
+            helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+            helper.setText(email.getBody());
+        }
+        return message;
+    }
+
+    private record BatchResult(int claimed, int sent) {
+
+        /**
+         * A full batch means more may be waiting; one where nothing went out means the mail
+         * server is down, so the rest waits for the next poll
+         */
+        boolean hasMore(int batchSize) {
+            return claimed == batchSize && sent > 0;
+        }
+    }
+}
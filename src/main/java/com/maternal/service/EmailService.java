@@ -1,74 +1,74 @@
 package com.maternal.service;
 
-import lombok.RequiredArgsConstructor;
+import com.maternal.mail.EmailTemplate;
+import com.maternal.mail.EmailTemplateEngine;
+import com.maternal.mail.RenderedEmail;
+import com.maternal.model.OutboxEmail;
+import com.maternal.repository.OutboxEmailRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 /**
- * Service for sending emails
+ * Service for sending emails.
+ * Emails are written to the outbox in the caller's transaction, so one goes out only if the
+ * change that triggered it commits, and the caller never waits on the SMTP server.
+ * EmailOutboxDispatcher delivers them. Messages are rendered from the templates in
+ * templates/email, compiled once here.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailTemplate welcome;
+    private final EmailTemplate appointmentReminder;
+    private final EmailTemplate vaccinationReminder;
+    private final EmailTemplate vaccinationOverdue;
+
+    public EmailService(OutboxEmailRepository outboxEmailRepository, EmailTemplateEngine templateEngine) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.welcome = templateEngine.template("welcome", "fullName");
+        this.appointmentReminder = templateEngine.template("appointment-reminder", "appointmentDetails");
+        this.vaccinationReminder = templateEngine.template("vaccination-reminder", "babyName", "vaccineName");
+        this.vaccinationOverdue = templateEngine.template("vaccination-overdue", "babyName", "vaccineName");
+    }
 
+    @Transactional
     public void sendSimpleEmail(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}", to, e);
-            // Don't throw exception to prevent blocking main flow
-        }
+        queue(to, new RenderedEmail(subject, text, null));
     }
 
+    @Transactional
     public void sendWelcomeEmail(String to, String fullName) {
-        String subject = "Welcome to Maternal Care System";
-        String text = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to the Maternal and Child Health Care Monitoring System!\n\n" +
-                "We're excited to have you join our community. Our platform is designed to help you " +
-                "track and manage your pregnancy journey and child health care with ease.\n\n" +
-                "If you have any questions, please don't hesitate to reach out to our support team.\n\n" +
-                "Best regards,\n" +
-                "Maternal Care Team",
-                fullName
-        );
-        sendSimpleEmail(to, subject, text);
+        queue(to, welcome.render(fullName));
     }
 
+    @Transactional
     public void sendAppointmentReminder(String to, String appointmentDetails) {
-        String subject = "Appointment Reminder";
-        String text = String.format(
-                "Dear User,\n\n" +
-                "This is a reminder about your upcoming appointment:\n\n" +
-                "%s\n\n" +
-                "Please make sure to arrive 15 minutes early.\n\n" +
-                "Best regards,\n" +
-                "Maternal Care Team",
-                appointmentDetails
-        );
-        sendSimpleEmail(to, subject, text);
+        queue(to, appointmentReminder.render(appointmentDetails));
     }
 
+    @Transactional
     public void sendVaccinationReminder(String to, String babyName, String vaccineName) {
-        String subject = "Vaccination Reminder for " + babyName;
-        String text = String.format(
-                "Dear Parent,\n\n" +
-                "This is a reminder that %s's %s vaccination is due soon.\n\n" +
-                "Please schedule an appointment with your healthcare provider.\n\n" +
-                "Best regards,\n" +
-                "Maternal Care Team",
-                babyName, vaccineName
-        );
-        sendSimpleEmail(to, subject, text);
+        queue(to, vaccinationReminder.render(babyName, vaccineName));
+    }
+
+    @Transactional
+    public void sendVaccinationOverdueReminder(String to, String babyName, String vaccineName) {
+        queue(to, vaccinationOverdue.render(babyName, vaccineName));
+    }
+
+    private void queue(String to, RenderedEmail email) {
+        outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(to)
+                .subject(email.subject())
+                .body(email.text())
+                .htmlBody(email.html())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Email queued for: {}", to);
     }
 }
@@ -0,0 +1,136 @@
+package com.maternal.service;
+
+import com.maternal.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for last-login timestamps.
+ * Logins only record the timestamp in memory; a periodic flush writes the latest
+ * timestamp per user with one batched UPDATE, so login never writes to the users table.
+ */
+@Component
+@Slf4j
+public class LastLoginWriteBehind {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private final TimeZone jdbcTimeZone;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    public LastLoginWriteBehind(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${auth.last-login.batch-size:500}") int batchSize,
+            @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}") String jdbcTimeZone,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        // Bind timestamps the same way Hibernate does for the configured JDBC time zone
+        this.jdbcTimeZone = StringUtils.hasText(jdbcTimeZone) ? TimeZone.getTimeZone(jdbcTimeZone) : null;
+
+        this.flushedCounter = Counter.builder("auth.last-login.flushed")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .description("Users with a last-login timestamp not yet written")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.lag", this, LastLoginWriteBehind::lagSeconds)
+                .description("Age in seconds of the oldest unwritten last-login timestamp")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a login; only the latest timestamp per user is kept
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // Only take the entry if no newer login replaced it meanwhile; a newer one waits for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        write(batch);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Flushing {} pending last-login updates before shutdown", pending.size());
+        flush();
+    }
+
+    private void write(List<Map.Entry<Long, LocalDateTime>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Calendar jdbcCalendar = jdbcTimeZone != null ? Calendar.getInstance(jdbcTimeZone) : null;
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                Timestamp timestamp = Timestamp.valueOf(entry.getValue());
+                if (jdbcCalendar != null) {
+                    ps.setTimestamp(1, timestamp, jdbcCalendar);
+                    ps.setLong(2, entry.getKey());
+                    ps.setTimestamp(3, timestamp, jdbcCalendar);
+                } else {
+                    ps.setTimestamp(1, timestamp);
+                    ps.setLong(2, entry.getKey());
+                    ps.setTimestamp(3, timestamp);
+                }
+            });
+            flushedCounter.increment(batch.size());
+            // The UPDATE bypasses Hibernate, so drop the now-stale second-level cache entries
+            Cache secondLevelCache = entityManagerFactory.getCache();
+            batch.forEach(entry -> secondLevelCache.evict(User.class, entry.getKey()));
+        } catch (Exception e) {
+            log.error("Failed to write {} last-login updates, will retry", batch.size(), e);
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = null;
+        for (LocalDateTime loginTime : pending.values()) {
+            if (oldest == null || loginTime.isBefore(oldest)) {
+                oldest = loginTime;
+            }
+        }
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.maternal.service;
+
+import com.maternal.cluster.ClusterJob;
+import com.maternal.cluster.JobRun;
+import com.maternal.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves appointments still SCHEDULED appointments.missed.after-hours past their time to MISSED,
+ * so the set of scheduled rows stays limited to upcoming and recently passed appointments.
+ * Until then a passed appointment is reported as overdue and can still be completed.
+ * Each chunk is one short transaction: read chunk-size ids off the scheduled-date index, then
+ * one bulk UPDATE that re-checks the status, so an appointment completed or cancelled in between,
+ * or already handled by another instance, is left alone. No entities are loaded.
+ * The parent dashboard only lists upcoming appointments, so it needs no refresh.
+ * Runs on one node at a time.
+ */
+@Service
+@ConditionalOnProperty(name = "appointments.missed.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class MissedAppointmentSweep {
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+    private final int chunkSize;
+    private final Counter missedCounter;
+
+    public MissedAppointmentSweep(
+            AppointmentRepository appointmentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${appointments.missed.after-hours:24}") long afterHours,
+            @Value("${appointments.missed.chunk-size:1000}") int chunkSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grace = Duration.ofHours(afterHours);
+        this.chunkSize = chunkSize;
+
+        this.missedCounter = Counter.builder("appointments.missed")
+                .description("Appointments moved from SCHEDULED to MISSED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.missed.interval-ms:300000}", initialDelayString = "${appointments.missed.initial-delay-ms:60000}")
+    @ClusterJob(name = "missed-appointments")
+    public void markMissed() {
+        JobRun run = JobRun.current();
+        LocalDateTime cutoff = LocalDateTime.now().minus(grace);
+        int total = 0;
+        int found;
+        do {
+            int[] chunk = transactionTemplate.execute(status -> {
+                run.fence();
+                List<Long> ids = appointmentRepository.findScheduledIdsBefore(cutoff, Limit.of(chunkSize));
+                int updated = ids.isEmpty() ? 0 : appointmentRepository.markMissed(ids, LocalDateTime.now());
+                return new int[] {ids.size(), updated};
+            });
+            found = chunk[0];
+            total += chunk[1];
+            missedCounter.increment(chunk[1]);
+        } while (found == chunkSize);
+
+        if (total > 0) {
+            log.info("Marked {} appointments missed", total);
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package com.maternal.service;
 
+import com.maternal.dto.CursorPage;
+import com.maternal.dto.PageResponse;
 import com.maternal.dto.UserDTO;
 import com.maternal.model.User;
+import com.maternal.repository.BabyRepository;
 import com.maternal.repository.UserRepository;
+import com.maternal.search.NameSearch;
+import com.maternal.search.SearchHit;
+import com.maternal.security.TokenVersionRegistry;
+import com.maternal.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -19,7 +33,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
 
+    /**
+     * User properties the admin listing may be sorted by
+     */
+    private static final Set<String> SORTABLE_USER_FIELDS = Set.of("id", "fullName", "email", "role", "createdAt", "lastLogin");
+
     private final UserRepository userRepository;
+    private final BabyRepository babyRepository;
+    private final UserPrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final NameSearch nameSearch;
 
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
@@ -35,33 +58,43 @@ public class UserService {
         return mapToDTO(user);
     }
 
+    /**
+     * One page of users read as DTO projections, with babies counts from one grouped query for the page
+     *
+     * @throws IllegalArgumentException for an unknown role or a sort property not in SORTABLE_USER_FIELDS
+     */
     @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public PageResponse<UserDTO> getUsers(String role, Boolean active, Pageable pageable) {
+        User.Role userRole = parseRole(role);
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_USER_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort users by: " + order.getProperty());
+            }
+        }
+        Page<UserDTO> page = userRepository.findUserPage(userRole, active, pageable);
+        fillBabiesCounts(page.getContent());
+        return PageResponse.of(page);
     }
 
+    /**
+     * One page of users ranked by similarity of name and email to the query
+     */
     @Transactional(readOnly = true)
-    public List<UserDTO> getActiveUsers() {
-        return userRepository.findByIsActiveTrue().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
+    public CursorPage<UserDTO> searchUsers(String query, String cursor, int limit) {
+        SearchHit after = cursor == null || cursor.isBlank() ? null : SearchHit.fromCursor(cursor);
+        List<SearchHit> hits = nameSearch.searchUsers(query, after, limit + 1);
+        String nextCursor = hits.size() > limit ? hits.get(limit - 1).toCursor() : null;
+        hits = hits.subList(0, Math.min(limit, hits.size()));
 
-    @Transactional(readOnly = true)
-    public List<UserDTO> getUsersByRole(String role) {
-        User.Role userRole = User.Role.valueOf(role.toUpperCase());
-        return userRepository.findByRole(userRole).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<UserDTO> searchUsers(String searchTerm) {
-        return userRepository.searchUsers(searchTerm).stream()
-                .map(this::mapToDTO)
+        Map<Long, UserDTO> usersById = userRepository.findUserDTOsByIdIn(hits.stream().map(SearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+        List<UserDTO> ranked = hits.stream()
+                .map(hit -> usersById.get(hit.getId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        fillBabiesCounts(ranked);
+        return new CursorPage<>(ranked, nextCursor);
     }
 
     @Transactional
@@ -90,6 +123,8 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        nameSearch.userChanged(user.getId(), user.getFullName(), user.getEmail());
         log.info("User updated: {}", user.getEmail());
         return mapToDTO(user);
     }
@@ -100,9 +135,38 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setIsActive(false);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        tokenVersionRegistry.revokeAll(user.getId());
         log.info("User deactivated: {}", user.getEmail());
     }
 
+    /**
+     * Role filter of the user listing; null or blank means every role
+     */
+    private User.Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role: " + role);
+        }
+    }
+
+    /**
+     * Set babies counts for a page of users with one grouped query
+     */
+    private void fillBabiesCounts(List<UserDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = users.stream().map(UserDTO::getId).toList();
+        Map<Long, Long> babiesCounts = babyRepository.countByParentIds(userIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        users.forEach(user -> user.setBabiesCount(babiesCounts.getOrDefault(user.getId(), 0L).intValue()));
+    }
+
     private UserDTO mapToDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
@@ -120,7 +184,7 @@ public class UserService {
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .lastLogin(user.getLastLogin())
-                .babiesCount(user.getBabiesCount())
+                .babiesCount((int) babyRepository.countByParentId(user.getId()))
                 .build();
     }
 }
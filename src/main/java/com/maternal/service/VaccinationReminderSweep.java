@@ -0,0 +1,152 @@
+package com.maternal.service;
+
+import com.maternal.cluster.ClusterJob;
+import com.maternal.cluster.JobRun;
+import com.maternal.dto.VaccinationDue;
+import com.maternal.repository.VaccinationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Nightly vaccination reminders for every parent, from one streaming query.
+ * Scheduled vaccinations from vaccinations.reminders.overdue-days ago up to lead-days ahead
+ * are read through a forward-only cursor in a read-only transaction (served by the replica when
+ * one is configured), as projections that never enter the persistence context. Every chunk-size
+ * rows, their reminders are queued in the email outbox in a separate write transaction, so memory
+ * stays flat however many rows the sweep covers. That transaction also records the day on the
+ * vaccination (last_reminded_on), re-checking it on the primary first, so a vaccination gets one
+ * reminder when it enters the window, one when it becomes overdue, and then one every repeat-days;
+ * running the sweep again the same day queues nothing.
+ * The work is split by vaccination id into PARTITIONS partitions shared out between the running nodes;
+ * each chunk is fenced, so a node that lost its partitions mid-sweep stops instead of queueing
+ * reminders twice.
+ */
+@Service
+@ConditionalOnProperty(name = "vaccinations.reminders.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VaccinationReminderSweep {
+
+    private static final int PARTITIONS = 8;
+
+    private final VaccinationRepository vaccinationRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int leadDays;
+    private final int overdueDays;
+    private final int repeatDays;
+    private final int chunkSize;
+    private final Counter upcomingCounter;
+    private final Counter overdueCounter;
+    private final Timer sweepTimer;
+
+    public VaccinationReminderSweep(
+            VaccinationRepository vaccinationRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            @Value("${vaccinations.reminders.lead-days:3}") int leadDays,
+            @Value("${vaccinations.reminders.overdue-days:14}") int overdueDays,
+            @Value("${vaccinations.reminders.repeat-days:7}") int repeatDays,
+            @Value("${vaccinations.reminders.chunk-size:500}") int chunkSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.vaccinationRepository = vaccinationRepository;
+        this.emailService = emailService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leadDays = leadDays;
+        this.overdueDays = overdueDays;
+        this.repeatDays = repeatDays;
+        this.chunkSize = chunkSize;
+
+        this.upcomingCounter = Counter.builder("vaccinations.reminders.queued")
+                .tag("kind", "upcoming")
+                .register(meterRegistry);
+        this.overdueCounter = Counter.builder("vaccinations.reminders.queued")
+                .tag("kind", "overdue")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("vaccinations.reminders.sweep")
+                .description("Time to stream all due vaccinations and queue their reminders")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${vaccinations.reminders.cron:0 0 3 * * *}")
+    @ClusterJob(name = "vaccination-reminders", partitions = PARTITIONS)
+    public void sweep() {
+        JobRun run = JobRun.current();
+        LocalDate today = LocalDate.now();
+        LocalDate repeatBefore = today.minusDays(repeatDays);
+        int queued = sweepTimer.record(() -> readTransaction.execute(status -> {
+            int count = 0;
+            List<VaccinationDue> chunk = new ArrayList<>(chunkSize);
+            try (Stream<VaccinationDue> due = vaccinationRepository.streamDueForReminder(
+                    today.minusDays(overdueDays), today.plusDays(leadDays), today, repeatBefore,
+                    run.partitionCount(), run.partitions())) {
+                Iterator<VaccinationDue> rows = due.iterator();
+                while (rows.hasNext()) {
+                    chunk.add(rows.next());
+                    if (chunk.size() == chunkSize) {
+                        count += queue(chunk, today, repeatBefore, run);
+                        chunk.clear();
+                    }
+                }
+            }
+            return count + queue(chunk, today, repeatBefore, run);
+        }));
+        log.info("Vaccination reminders: {} queued for partitions {}", queued, run.partitions());
+    }
+
+    /**
+     * Queue the reminders of a chunk and record the day on each vaccination
+     *
+     * @return the number of reminders queued
+     */
+    private int queue(List<VaccinationDue> chunk, LocalDate today, LocalDate repeatBefore, JobRun run) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<VaccinationDue> reminded = writeTransaction.execute(status -> {
+            run.fence();
+            // The stream may come from a lagging replica; only the primary knows what was already sent
+            Set<Long> dueIds = new HashSet<>(vaccinationRepository.findIdsDueForReminder(
+                    chunk.stream().map(VaccinationDue::getVaccinationId).toList(), today, repeatBefore));
+            List<VaccinationDue> due = chunk.stream()
+                    .filter(row -> dueIds.contains(row.getVaccinationId()))
+                    .toList();
+            due.forEach(row -> {
+                if (row.getScheduledDate().isBefore(today)) {
+                    emailService.sendVaccinationOverdueReminder(row.getParentEmail(), row.getBabyName(), row.getVaccineName());
+                } else {
+                    emailService.sendVaccinationReminder(row.getParentEmail(), row.getBabyName(), row.getVaccineName());
+                }
+            });
+            if (!dueIds.isEmpty()) {
+                vaccinationRepository.markReminded(dueIds, today);
+            }
+            return due;
+        });
+        long overdue = reminded.stream().filter(row -> row.getScheduledDate().isBefore(today)).count();
+        overdueCounter.increment(overdue);
+        upcomingCounter.increment(reminded.size() - overdue);
+        return reminded.size();
+    }
+}
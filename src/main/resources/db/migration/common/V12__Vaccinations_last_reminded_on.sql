@@ -0,0 +1,3 @@
+-- Day the nightly sweep last queued a reminder for the vaccination, so a re-run on the same day
+-- queues nothing and reminders repeat only every vaccinations.reminders.repeat-days
+ALTER TABLE vaccinations ADD COLUMN last_reminded_on DATE;
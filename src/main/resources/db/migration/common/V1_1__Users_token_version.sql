@@ -0,0 +1,6 @@
+-- Per-user token version, incremented to revoke every token issued to the user.
+-- IF NOT EXISTS: development databases created by ddl-auto=update may already have the column.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER;
+
+UPDATE users SET token_version = 0 WHERE token_version IS NULL;
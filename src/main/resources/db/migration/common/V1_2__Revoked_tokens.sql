@@ -0,0 +1,15 @@
+-- Revoked access tokens and refresh-token families, shared between nodes by TokenRevocationStore.
+-- IF NOT EXISTS: development databases created by ddl-auto=update may already have the table.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL,
+    user_id BIGINT,
+    token_type VARCHAR(20) NOT NULL CHECK (token_type IN ('ACCESS','REFRESH','REFRESH_FAMILY')),
+    token_id VARCHAR(64) NOT NULL UNIQUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires ON revoked_tokens (expires_at);
+-- TokenRevocationStore.syncFromDatabase: revoked_at > ?
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,138 @@
+-- Schema as it stood before Flyway took over. Existing databases are baselined at this version,
+-- so this script only runs against an empty database.
+
+CREATE TABLE appointments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reminder_sent BOOLEAN,
+    appointment_date TIMESTAMP(6) NOT NULL,
+    baby_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','COMPLETED','CANCELLED','RESCHEDULED')),
+    appointment_type VARCHAR(50) NOT NULL,
+    clinic_name VARCHAR(100),
+    doctor_name VARCHAR(100) NOT NULL,
+    clinic_address TEXT,
+    notes TEXT,
+    purpose TEXT
+);
+
+CREATE TABLE babies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    birth_date DATE NOT NULL,
+    height_at_birth FLOAT(53),
+    is_active BOOLEAN,
+    weight_at_birth FLOAT(53),
+    blood_type VARCHAR(5),
+    created_at TIMESTAMP(6) NOT NULL,
+    parent_id BIGINT NOT NULL,
+    updated_at TIMESTAMP(6),
+    gender VARCHAR(10) NOT NULL,
+    unique_id VARCHAR(50) NOT NULL UNIQUE,
+    name VARCHAR(100) NOT NULL,
+    notes TEXT,
+    photo_url VARCHAR(255)
+);
+
+CREATE TABLE growth_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    age_in_months INTEGER,
+    head_circumference FLOAT(53),
+    height FLOAT(53) NOT NULL,
+    record_date DATE NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    baby_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    notes TEXT
+);
+
+CREATE TABLE nutrition_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    quantity INTEGER,
+    record_date DATE NOT NULL,
+    baby_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    feeding_type VARCHAR(50) NOT NULL,
+    meal_type VARCHAR(50),
+    food_items TEXT,
+    notes TEXT
+);
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date_of_birth DATE,
+    email_verified BOOLEAN,
+    is_active BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    last_login TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    emergency_phone VARCHAR(20),
+    phone VARCHAR(20),
+    role VARCHAR(20) NOT NULL CHECK (role IN ('USER','DOCTOR','ADMIN')),
+    emergency_contact VARCHAR(100),
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(120) NOT NULL UNIQUE,
+    address TEXT,
+    password_hash VARCHAR(255) NOT NULL,
+    profile_picture VARCHAR(255)
+);
+
+CREATE TABLE vaccinations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    administered_date DATE,
+    scheduled_date DATE NOT NULL,
+    baby_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    status VARCHAR(20) NOT NULL,
+    batch_number VARCHAR(50),
+    clinic_name VARCHAR(100),
+    doctor_name VARCHAR(100),
+    vaccine_name VARCHAR(100) NOT NULL,
+    notes TEXT,
+    side_effects TEXT
+);
+
+CREATE TABLE weight_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bmi FLOAT(53),
+    date DATE NOT NULL,
+    height FLOAT(53),
+    pre_pregnancy_weight FLOAT(53),
+    pregnancy_week INTEGER NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    weight_gain FLOAT(53),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    user_id BIGINT NOT NULL,
+    notes TEXT
+);
+
+CREATE INDEX idx_appointment_user ON appointments (user_id);
+CREATE INDEX idx_appointment_baby ON appointments (baby_id);
+CREATE INDEX idx_appointment_date ON appointments (appointment_date);
+CREATE INDEX idx_appointment_status ON appointments (status);
+CREATE INDEX idx_baby_birth_date ON babies (birth_date);
+CREATE INDEX idx_baby_parent ON babies (parent_id);
+CREATE INDEX idx_growth_baby ON growth_records (baby_id);
+CREATE INDEX idx_growth_date ON growth_records (record_date);
+CREATE INDEX idx_nutrition_baby ON nutrition_records (baby_id);
+CREATE INDEX idx_nutrition_date ON nutrition_records (record_date);
+CREATE INDEX idx_user_email ON users (email);
+CREATE INDEX idx_user_role ON users (role);
+CREATE INDEX idx_user_active ON users (is_active);
+CREATE INDEX idx_vaccination_baby ON vaccinations (baby_id);
+CREATE INDEX idx_vaccination_date ON vaccinations (scheduled_date);
+CREATE INDEX idx_weight_user ON weight_entries (user_id);
+CREATE INDEX idx_weight_date ON weight_entries (date);
+
+ALTER TABLE appointments ADD CONSTRAINT fk_appointment_baby FOREIGN KEY (baby_id) REFERENCES babies (id);
+ALTER TABLE appointments ADD CONSTRAINT fk_appointment_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE babies ADD CONSTRAINT fk_baby_parent FOREIGN KEY (parent_id) REFERENCES users (id);
+ALTER TABLE growth_records ADD CONSTRAINT fk_growth_baby FOREIGN KEY (baby_id) REFERENCES babies (id);
+ALTER TABLE nutrition_records ADD CONSTRAINT fk_nutrition_baby FOREIGN KEY (baby_id) REFERENCES babies (id);
+ALTER TABLE vaccinations ADD CONSTRAINT fk_vaccination_baby FOREIGN KEY (baby_id) REFERENCES babies (id);
+ALTER TABLE weight_entries ADD CONSTRAINT fk_weight_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,13 @@
+-- Per-parent dashboard read model. The document is JSON maintained by DashboardReadModel;
+-- NULL means it has not been built yet and is built on the parent's first dashboard request.
+
+CREATE TABLE parent_dashboards (
+    parent_id BIGINT NOT NULL PRIMARY KEY,
+    document TEXT,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE parent_dashboards ADD CONSTRAINT fk_parent_dashboard_user FOREIGN KEY (parent_id) REFERENCES users (id);
+
+-- One row per existing user, so writes always have a row to lock
+INSERT INTO parent_dashboards (parent_id, updated_at) SELECT id, CURRENT_TIMESTAMP FROM users;
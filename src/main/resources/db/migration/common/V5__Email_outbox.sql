@@ -0,0 +1,19 @@
+-- Transactional email outbox. Rows are written in the same transaction as the change that
+-- triggers the email and delivered by EmailOutboxDispatcher.
+
+CREATE SEQUENCE email_outbox_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING','SENT','FAILED')),
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6)
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,2 @@
+-- HTML alternative for outbox emails rendered from a template with an HTML variant
+ALTER TABLE email_outbox ADD COLUMN html_body TEXT;
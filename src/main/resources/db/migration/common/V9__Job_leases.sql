@@ -0,0 +1,19 @@
+-- Coordination of scheduled jobs across nodes (com.maternal.cluster).
+-- Each node heartbeats a cluster_nodes row; each job partition has one job_leases row, held by at
+-- most one node until lease_until. fencing_token goes up every time a partition changes hands.
+
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(200) NOT NULL PRIMARY KEY,
+    started_at TIMESTAMP(6) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE job_leases (
+    job_name VARCHAR(100) NOT NULL,
+    partition_no INTEGER NOT NULL,
+    owner VARCHAR(200),
+    fencing_token BIGINT NOT NULL,
+    lease_until TIMESTAMP(6) NOT NULL,
+    acquired_at TIMESTAMP(6),
+    PRIMARY KEY (job_name, partition_no)
+);
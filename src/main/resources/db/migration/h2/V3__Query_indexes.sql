@@ -0,0 +1,17 @@
+-- Indexes shaped to the hot per-user and reminder queries.
+-- H2 has no partial indexes, so the status filters the PostgreSQL version puts in WHERE clauses
+-- become leading key columns here instead. The single-column indexes stay: H2 backs the foreign
+-- keys with them. There is no growth_records composite because H2 only credits an index with
+-- avoiding a sort when the ORDER BY column leads it, so it would never be chosen.
+
+-- findUpcomingAppointmentsByUserId: user_id = ? AND status = 'SCHEDULED' AND appointment_date > ? ORDER BY appointment_date
+CREATE INDEX IF NOT EXISTS idx_appointment_user_status_date
+    ON appointments (user_id, status, appointment_date);
+
+-- findAppointmentsNeedingReminder
+CREATE INDEX IF NOT EXISTS idx_appointment_reminder_due
+    ON appointments (status, reminder_sent, appointment_date);
+
+-- findUpcomingVaccinations
+CREATE INDEX IF NOT EXISTS idx_vaccination_upcoming
+    ON vaccinations (baby_id, status, scheduled_date);
@@ -0,0 +1,3 @@
+-- MissedAppointmentSweep: status = 'SCHEDULED' AND appointment_date < ? ORDER BY appointment_date LIMIT ?
+-- H2 has no partial indexes, so status leads a composite instead.
+CREATE INDEX IF NOT EXISTS idx_appointment_scheduled_date ON appointments (status, appointment_date);
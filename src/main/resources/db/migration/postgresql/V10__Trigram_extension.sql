@@ -0,0 +1,3 @@
+-- pg_trgm backs search.mode=postgres (PostgresNameSearch). It is a trusted extension on PostgreSQL 13+,
+-- so the migration user only needs CREATE on the database; on older servers create it as a superuser first.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,11 @@
+-- GIN trigram indexes for the <% word-similarity match in PostgresNameSearch.
+-- Built CONCURRENTLY so writes are not blocked on large tables; Flyway runs this script outside a transaction.
+
+-- searchUsers: ? <% (full_name || ' ' || email)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_search_trgm
+    ON users USING gin ((full_name || ' ' || email) gin_trgm_ops);
+
+-- searchBabies: ? <% name AND is_active = true
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_baby_name_trgm
+    ON babies USING gin (name gin_trgm_ops)
+    WHERE is_active = true;
@@ -0,0 +1,22 @@
+-- Indexes shaped to the hot per-user, per-baby and reminder queries.
+-- Built CONCURRENTLY so writes are not blocked on large tables; Flyway runs this script outside a transaction.
+
+-- findUpcomingAppointmentsByUserId: user_id = ? AND status = 'SCHEDULED' AND appointment_date > ? ORDER BY appointment_date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointment_user_status_date
+    ON appointments (user_id, status, appointment_date);
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointment_user;
+
+-- findAppointmentsNeedingReminder: only unsent reminders for scheduled appointments are ever scanned
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointment_reminder_due
+    ON appointments (appointment_date)
+    WHERE status = 'SCHEDULED' AND reminder_sent = false;
+
+-- findByBabyIdOrderByRecordDateDesc and findFirstByBabyIdOrderByRecordDateDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_growth_baby_date
+    ON growth_records (baby_id, record_date);
+DROP INDEX CONCURRENTLY IF EXISTS idx_growth_baby;
+
+-- findUpcomingVaccinations: baby_id = ? AND status = 'SCHEDULED' AND scheduled_date >= ? ORDER BY scheduled_date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_vaccination_upcoming
+    ON vaccinations (baby_id, scheduled_date)
+    WHERE status = 'SCHEDULED';
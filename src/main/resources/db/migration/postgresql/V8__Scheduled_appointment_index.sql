@@ -0,0 +1,5 @@
+-- MissedAppointmentSweep: status = 'SCHEDULED' AND appointment_date < ? ORDER BY appointment_date LIMIT ?
+-- Only appointments still scheduled are indexed, which the sweep keeps to upcoming and recently passed ones.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointment_scheduled_date
+    ON appointments (appointment_date)
+    WHERE status = 'SCHEDULED';
@@ -0,0 +1,127 @@
+package com.maternal.repository;
+
+import com.maternal.config.SecondLevelCacheConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot repository queries still use the indexes built for them.
+ * Each query is run once through its repository method while the SQL Hibernate generates is
+ * captured, then that exact SQL is EXPLAINed on the Flyway-migrated H2 schema. H2 plans are stable
+ * on an empty database, whereas PostgreSQL rightly prefers sequential scans on small tables.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@DirtiesContext
+class QueryPlanTest {
+
+    private static final ThreadLocal<List<String>> CAPTURED_SQL = new ThreadLocal<>();
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private GrowthRecordRepository growthRecordRepository;
+
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        /**
+         * Records the SQL of statements prepared while a capture is active on the current thread
+         */
+        @Bean
+        HibernatePropertiesCustomizer capturingStatementInspector() {
+            StatementInspector inspector = sql -> {
+                List<String> captured = CAPTURED_SQL.get();
+                if (captured != null) {
+                    captured.add(sql);
+                }
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeEach
+    void startCapture() {
+        CAPTURED_SQL.set(new ArrayList<>());
+    }
+
+    @AfterEach
+    void stopCapture() {
+        CAPTURED_SQL.remove();
+    }
+
+    @Test
+    void upcomingAppointmentsUseUserStatusDateIndex() {
+        appointmentRepository.findUpcomingAppointmentsByUserId(0L, now);
+        assertThat(planOfCapturedQuery()).contains("idx_appointment_user_status_date");
+    }
+
+    @Test
+    void appointmentsNeedingReminderUseReminderIndex() {
+        appointmentRepository.findAppointmentsNeedingReminder(now, now.plusHours(24), Limit.of(1));
+        assertThat(planOfCapturedQuery()).contains("idx_appointment_reminder_due");
+    }
+
+    @Test
+    void scheduledIdsBeforeUseScheduledDateIndex() {
+        appointmentRepository.findScheduledIdsBefore(now, Limit.of(1));
+        assertThat(planOfCapturedQuery()).contains("idx_appointment_scheduled_date");
+    }
+
+    /**
+     * Matches idx_growth_baby_date on PostgreSQL; H2 never uses a composite just to skip the sort,
+     * so on H2 this only guards against losing the baby_id index altogether
+     */
+    @Test
+    void growthHistoryUsesBabyIndex() {
+        growthRecordRepository.findByBabyIdOrderByRecordDateDesc(0L);
+        assertThat(planOfCapturedQuery()).contains("idx_growth_baby");
+    }
+
+    @Test
+    void upcomingVaccinationsUseUpcomingIndex() {
+        vaccinationRepository.findUpcomingVaccinations(0L, LocalDate.now());
+        assertThat(planOfCapturedQuery()).contains("idx_vaccination_upcoming");
+    }
+
+    /**
+     * EXPLAIN the first statement captured since the test started
+     */
+    private String planOfCapturedQuery() {
+        List<String> captured = CAPTURED_SQL.get();
+        assertThat(captured).as("SQL issued by the repository call").isNotEmpty();
+        String sql = captured.get(0);
+        CAPTURED_SQL.remove();
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,141 @@
+package com.maternal.service;
+
+import com.maternal.config.SecondLevelCacheConfig;
+import com.maternal.model.OutboxEmail;
+import com.maternal.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delivery and retry of outbox emails against a local SMTP server.
+ * Not transactional, so each claim and outcome commits as it does in production.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class EmailOutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestSmtpServer smtpServer;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new TestSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.port());
+        dispatcher = new EmailOutboxDispatcher(outboxEmailRepository, mailSender, transactionManager,
+                1, 50, MAX_ATTEMPTS, INITIAL_BACKOFF_SECONDS, 3600, 300, 7, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.shutdown();
+        smtpServer.close();
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedEmailAndMarksItSent() {
+        Long id = queue("parent@example.com", "Appointment reminder");
+
+        dispatcher.dispatch();
+
+        assertThat(smtpServer.received()).singleElement().satisfies(message -> {
+            assertThat(message.recipients()).containsExactly("<parent@example.com>");
+            assertThat(message.subject()).isEqualTo("Appointment reminder");
+        });
+        OutboxEmail email = outboxEmailRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.SENT);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void retriesRejectedEmailAfterBackoff() {
+        Long id = queue("parent@example.com", "Vaccination due");
+        smtpServer.setRejecting(true);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        OutboxEmail email = outboxEmailRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptAt()).isAfter(before.plusSeconds(INITIAL_BACKOFF_SECONDS - 1));
+
+        // Not due yet, so the next poll leaves it alone
+        smtpServer.setRejecting(false);
+        dispatcher.dispatch();
+        assertThat(smtpServer.received()).isEmpty();
+
+        makeDue(id);
+        dispatcher.dispatch();
+
+        assertThat(smtpServer.received()).hasSize(1);
+        email = outboxEmailRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.SENT);
+        assertThat(email.getAttempts()).isEqualTo(2);
+        assertThat(email.getLastError()).isNull();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        Long id = queue("parent@example.com", "Vaccination overdue");
+        smtpServer.setRejecting(true);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            dispatcher.dispatch();
+            makeDue(id);
+        }
+        dispatcher.dispatch();
+
+        OutboxEmail email = outboxEmailRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(smtpServer.received()).isEmpty();
+    }
+
+    private Long queue(String recipient, String subject) {
+        return outboxEmailRepository.save(OutboxEmail.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body("Body of " + subject)
+                .nextAttemptAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    /**
+     * Skip the backoff wait
+     */
+    private void makeDue(Long id) {
+        OutboxEmail email = outboxEmailRepository.findById(id).orElseThrow();
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEmailRepository.save(email);
+    }
+}
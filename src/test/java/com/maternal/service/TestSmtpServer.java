@@ -0,0 +1,132 @@
+package com.maternal.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal SMTP server for tests. Listens on a free loopback port and records the recipients and
+ * subject of each message it accepts; while rejecting, it answers every message with a temporary
+ * failure instead, the way a mail server under load does.
+ */
+class TestSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "test-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Message> received = new CopyOnWriteArrayList<>();
+    private volatile boolean rejecting;
+
+    TestSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        connections.execute(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Message> received() {
+        return received;
+    }
+
+    void setRejecting(boolean rejecting) {
+        this.rejecting = rejecting;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> session(socket));
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost ESMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String verb = line.length() < 4 ? line : line.substring(0, 4);
+                switch (verb.toUpperCase(Locale.ROOT)) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RSET" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(line.substring(line.indexOf(':') + 1).trim());
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String subject = readData(in);
+                        if (rejecting) {
+                            reply(out, "451 Try again later");
+                        } else {
+                            received.add(new Message(List.copyOf(recipients), subject));
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    /**
+     * Read the message up to the terminating dot and return its Subject header
+     */
+    private static String readData(BufferedReader in) throws IOException {
+        String subject = null;
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            if (subject == null && line.regionMatches(true, 0, "Subject:", 0, 8)) {
+                subject = line.substring(8).trim();
+            }
+        }
+        return subject;
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response + "\r\n");
+        out.flush();
+    }
+
+    record Message(List<String> recipients, String subject) {
+    }
+}